@@ -0,0 +1,120 @@
+package com.superaipadel.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the Postgres-specific schema objects that Hibernate's ddl-auto cannot express. Runs once
+ * ddl-auto has updated the tables and while the context is still starting, so before the web server
+ * accepts a request. Every statement is idempotent. Startup fails if an object the application
+ * relies on for correctness cannot be applied; a missing search index is only logged.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaInitializer implements InitializingBean {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        // Two non-cancelled reservations of the same terrain may never overlap, whichever node inserts them
+        require("reservation overlap constraint",
+                "CREATE EXTENSION IF NOT EXISTS btree_gist",
+                "DO $$ BEGIN " +
+                "IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'reservations_no_overlap') THEN " +
+                "ALTER TABLE reservations ADD CONSTRAINT reservations_no_overlap " +
+                "EXCLUDE USING gist (terrain_id WITH =, tsrange(start_time, end_time) WITH &&) " +
+                "WHERE (status <> 'CANCELLED'); " +
+                "END IF; END $$");
+
+        // No booking may land in a blackout, whichever node inserts it. Bookings take a shared per-terrain
+        // advisory lock and declaring a blackout an exclusive one, so a blackout committed while a
+        // booking is in flight either sees the booking and cancels it or is seen by it.
+        require("reservation blackout trigger",
+                "CREATE OR REPLACE FUNCTION terrain_blackouts_lock() RETURNS trigger AS $$ " +
+                "BEGIN " +
+                "PERFORM pg_advisory_xact_lock(NEW.terrain_id); " +
+                "RETURN NEW; " +
+                "END $$ LANGUAGE plpgsql",
+                "CREATE OR REPLACE FUNCTION reservations_no_blackout() RETURNS trigger AS $$ " +
+                "BEGIN " +
+                "IF NEW.status = 'CANCELLED' OR (TG_OP = 'UPDATE' AND OLD.status <> 'CANCELLED' " +
+                "AND NEW.terrain_id = OLD.terrain_id AND NEW.start_time = OLD.start_time AND NEW.end_time = OLD.end_time) THEN " +
+                "RETURN NEW; " +
+                "END IF; " +
+                "PERFORM pg_advisory_xact_lock_shared(NEW.terrain_id); " +
+                "IF EXISTS (SELECT 1 FROM terrain_blackouts b WHERE b.terrain_id = NEW.terrain_id " +
+                "AND b.start_time < NEW.end_time AND b.end_time > NEW.start_time) THEN " +
+                "RAISE EXCEPTION 'Terrain % is blacked out during the reservation', NEW.terrain_id " +
+                "USING ERRCODE = 'exclusion_violation', CONSTRAINT = 'reservations_no_blackout'; " +
+                "END IF; " +
+                "RETURN NEW; " +
+                "END $$ LANGUAGE plpgsql",
+                "DROP TRIGGER IF EXISTS terrain_blackouts_lock ON terrain_blackouts",
+                "CREATE TRIGGER terrain_blackouts_lock BEFORE INSERT ON terrain_blackouts " +
+                "FOR EACH ROW EXECUTE FUNCTION terrain_blackouts_lock()",
+                "DROP TRIGGER IF EXISTS reservations_no_blackout ON reservations",
+                "CREATE TRIGGER reservations_no_blackout BEFORE INSERT OR UPDATE ON reservations " +
+                "FOR EACH ROW EXECUTE FUNCTION reservations_no_blackout()");
+
+        // Case-insensitive prefix search on users; text_pattern_ops lets LIKE 'abc%' use the index
+        // whatever the database collation
+        attempt("user search indexes",
+                "CREATE INDEX IF NOT EXISTS idx_users_username_lower ON users (lower(username) text_pattern_ops)",
+                "CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email) text_pattern_ops)",
+                "CREATE INDEX IF NOT EXISTS idx_users_first_name_lower ON users (lower(first_name) text_pattern_ops)",
+                "CREATE INDEX IF NOT EXISTS idx_users_last_name_lower ON users (lower(last_name) text_pattern_ops)",
+                "CREATE INDEX IF NOT EXISTS idx_user_roles_role_id ON user_roles (role_id, user_id)");
+
+        // Hibernate only writes enum check constraints when it creates a table, so a constraint from
+        // an older schema would reject statuses added since
+        require("equipment transaction status check",
+                "ALTER TABLE equipment_transactions DROP CONSTRAINT IF EXISTS equipment_transactions_status_check");
+
+        // Replaced by user_refresh_tokens: it held one raw token per user, which cannot be carried over
+        attempt("legacy refresh token table",
+                "DROP TABLE IF EXISTS refresh_tokens");
+
+        // Ids of these tables used to come from identity columns
+        syncSequence("reservations", "reservations_seq");
+        syncSequence("equipment_transactions", "equipment_transactions_seq");
+    }
+
+    // Moves a pooled sequence past the ids already in its table. The pooled optimizer hands out
+    // the 50 ids below each value, hence the extra block.
+    private void syncSequence(String table, String sequence) {
+        require(sequence,
+                "SELECT setval('" + sequence + "', GREATEST(" +
+                "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + 50, " +
+                "(SELECT last_value FROM " + sequence + ")))");
+    }
+
+    private void require(String description, String... statements) {
+        try {
+            execute(statements);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not apply " + description, e);
+        }
+    }
+
+    private void attempt(String description, String... statements) {
+        try {
+            execute(statements);
+        } catch (RuntimeException e) {
+            logger.warn("Could not apply {}: {}", description, e.getMessage());
+        }
+    }
+
+    private void execute(String... statements) {
+        for (String statement : statements) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+}
@@ -6,28 +6,30 @@ import com.superaipadel.backend.dto.request.TokenRefreshRequest;
 import com.superaipadel.backend.dto.response.JwtResponse;
 import com.superaipadel.backend.dto.response.MessageResponse;
 import com.superaipadel.backend.dto.response.TokenRefreshResponse;
-import com.superaipadel.backend.exception.TokenRefreshException;
 import com.superaipadel.backend.model.RefreshToken;
 import com.superaipadel.backend.model.Role;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.repository.RoleRepository;
 import com.superaipadel.backend.repository.UserRepository;
 import com.superaipadel.backend.security.jwt.JwtUtils;
+import com.superaipadel.backend.security.services.PasswordHashingExecutor;
 import com.superaipadel.backend.security.services.RefreshTokenService;
 import com.superaipadel.backend.security.services.UserDetailsImpl;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -52,13 +54,25 @@ public class AuthController {
     @Autowired
     RefreshTokenService refreshTokenService;
 
+    @Autowired
+    PasswordHashingExecutor passwordHashingExecutor;
+
+    // Database and token work that follows a hash; the hashing pool is kept for hashing alone
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    AsyncTaskExecutor taskExecutor;
+
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        // The password check runs on the hashing pool and the token issuing on the task executor;
+        // the servlet thread is released meanwhile
+        return passwordHashingExecutor.submit(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())))
+                .thenApplyAsync(this::signIn, taskExecutor);
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    private ResponseEntity<?> signIn(Authentication authentication) {
         String jwt = jwtUtils.generateJwtToken(authentication);
         
         // Generate refresh token
@@ -85,40 +99,25 @@ public class AuthController {
     public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
         String requestRefreshToken = request.getRefreshToken();
 
-        return refreshTokenService.findByToken(requestRefreshToken)
-                .map(refreshTokenService::verifyExpiration)
-                .map(RefreshToken::getUser)
-                .map(user -> {
-                    String token = jwtUtils.generateTokenFromUsername(user.getUsername());
-                    return ResponseEntity.ok(new TokenRefreshResponse(token, requestRefreshToken));
-                })
-                .orElseThrow(() -> new TokenRefreshException(requestRefreshToken,
-                        "Refresh token is not in database!"));
+        RefreshToken rotated = refreshTokenService.rotate(requestRefreshToken);
+        String token = jwtUtils.generateTokenFromUser(rotated.getUser());
+        return ResponseEntity.ok(new TokenRefreshResponse(token, rotated.getToken()));
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
         if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-            return ResponseEntity
+            return CompletableFuture.completedFuture(ResponseEntity
                     .badRequest()
-                    .body(new MessageResponse("Error: Username is already taken!"));
+                    .body(new MessageResponse("Error: Username is already taken!")));
         }
 
         if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity
+            return CompletableFuture.completedFuture(ResponseEntity
                     .badRequest()
-                    .body(new MessageResponse("Error: Email is already in use!"));
+                    .body(new MessageResponse("Error: Email is already in use!")));
         }
 
-        // Create new user's account
-        User user = new User(signUpRequest.getUsername(),
-                             signUpRequest.getEmail(),
-                             encoder.encode(signUpRequest.getPassword()));
-        
-        user.setFirstName(signUpRequest.getFirstName());
-        user.setLastName(signUpRequest.getLastName());
-        user.setPhoneNumber(signUpRequest.getPhoneNumber());
-
         Set<String> strRoles = signUpRequest.getRoles();
         Set<Role> roles = new HashSet<>();
 
@@ -149,9 +148,17 @@ public class AuthController {
             });
         }
 
-        user.setRoles(roles);
-        userRepository.save(user);
-
-        return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+        // Create new user's account on the task executor once the password is hashed on the hashing pool
+        return passwordHashingExecutor.submit(() -> encoder.encode(signUpRequest.getPassword()))
+                .thenApplyAsync(encodedPassword -> {
+                    User user = new User(signUpRequest.getUsername(), signUpRequest.getEmail(), encodedPassword);
+                    user.setFirstName(signUpRequest.getFirstName());
+                    user.setLastName(signUpRequest.getLastName());
+                    user.setPhoneNumber(signUpRequest.getPhoneNumber());
+                    user.setRoles(roles);
+                    userRepository.save(user);
+
+                    return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
+                }, taskExecutor);
     }
 }
@@ -1,15 +1,19 @@
 package com.superaipadel.backend.controller;
 
 import com.superaipadel.backend.dto.response.MessageResponse;
+import com.superaipadel.backend.dto.response.RentalAvailabilityResponse;
 import com.superaipadel.backend.model.Equipment;
 import com.superaipadel.backend.model.Facility;
 import com.superaipadel.backend.service.EquipmentService;
+import com.superaipadel.backend.service.EquipmentTransactionService;
 import com.superaipadel.backend.service.FacilityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -23,6 +27,9 @@ public class EquipmentController {
     @Autowired
     private FacilityService facilityService;
     
+    @Autowired
+    private EquipmentTransactionService transactionService;
+    
     @GetMapping("/facility/{facilityId}")
     public ResponseEntity<List<Equipment>> getEquipmentByFacility(@PathVariable Long facilityId) {
         Facility facility = facilityService.findById(facilityId);
@@ -53,6 +60,19 @@ public class EquipmentController {
         return ResponseEntity.ok(equipment);
     }
     
+    @GetMapping("/{id}/rental-availability")
+    public ResponseEntity<?> getRentalAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            RentalAvailabilityResponse availability = transactionService.getRentalAvailability(id, from, to);
+            return ResponseEntity.ok(availability);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Equipment> getEquipmentById(@PathVariable Long id) {
         Equipment equipment = equipmentService.findById(id);
@@ -1,13 +1,19 @@
 package com.superaipadel.backend.controller;
 
+import com.superaipadel.backend.dto.projection.EquipmentTransactionSummary;
+import com.superaipadel.backend.dto.request.CartCheckoutRequest;
+import com.superaipadel.backend.dto.response.KeysetPageResponse;
 import com.superaipadel.backend.dto.response.MessageResponse;
 import com.superaipadel.backend.model.Equipment;
 import com.superaipadel.backend.model.EquipmentTransaction;
+import com.superaipadel.backend.model.Reservation;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.security.services.UserDetailsImpl;
 import com.superaipadel.backend.service.EquipmentService;
 import com.superaipadel.backend.service.EquipmentTransactionService;
+import com.superaipadel.backend.service.ReservationService;
 import com.superaipadel.backend.service.UserService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -17,12 +23,15 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/equipment-transactions")
 public class EquipmentTransactionController {
     
+    private static final int MAX_PAGE_SIZE = 500;
+    
     @Autowired
     private EquipmentTransactionService transactionService;
     
@@ -32,35 +41,51 @@ public class EquipmentTransactionController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ReservationService reservationService;
+    
     @GetMapping("/my-transactions")
-    public ResponseEntity<List<EquipmentTransaction>> getMyTransactions(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userService.findById(userDetails.getId());
-        List<EquipmentTransaction> transactions = transactionService.findByUser(user);
+    public ResponseEntity<List<EquipmentTransactionSummary>> getMyTransactions(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<EquipmentTransactionSummary> transactions = transactionService.findSummariesByUserId(userDetails.getId());
         return ResponseEntity.ok(transactions);
     }
     
     @GetMapping("/my-rentals")
-    public ResponseEntity<List<EquipmentTransaction>> getMyActiveRentals(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userService.findById(userDetails.getId());
-        List<EquipmentTransaction> transactions = transactionService.findActiveRentalsByUser(user);
+    public ResponseEntity<List<EquipmentTransactionSummary>> getMyActiveRentals(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<EquipmentTransactionSummary> transactions = transactionService.findActiveRentalSummariesByUserId(userDetails.getId());
         return ResponseEntity.ok(transactions);
     }
     
     @GetMapping("/facility/{facilityId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<EquipmentTransaction>> getTransactionsByFacility(@PathVariable Long facilityId) {
-        List<EquipmentTransaction> transactions = transactionService.findByFacilityId(facilityId);
+    public ResponseEntity<List<EquipmentTransactionSummary>> getTransactionsByFacility(@PathVariable Long facilityId) {
+        List<EquipmentTransactionSummary> transactions = transactionService.findSummariesByFacilityId(facilityId);
         return ResponseEntity.ok(transactions);
     }
     
+    @GetMapping("/facility/{facilityId}/overdue")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> getOverdueRentalsByFacility(
+            @PathVariable Long facilityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            KeysetPageResponse<EquipmentTransactionSummary> page =
+                    transactionService.findOverdueByFacilityId(facilityId, cursor, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<EquipmentTransaction> getTransactionById(@PathVariable Long id) {
-        EquipmentTransaction transaction = transactionService.findById(id);
+    public ResponseEntity<EquipmentTransactionSummary> getTransactionById(@PathVariable Long id) {
+        EquipmentTransactionSummary transaction = transactionService.findSummaryById(id);
         return ResponseEntity.ok(transaction);
     }
     
     @PostMapping("/purchase/{equipmentId}")
-    public ResponseEntity<EquipmentTransaction> purchaseEquipment(
+    public ResponseEntity<EquipmentTransactionSummary> purchaseEquipment(
             @PathVariable Long equipmentId,
             @RequestParam Integer quantity,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
@@ -69,25 +94,58 @@ public class EquipmentTransactionController {
         Equipment equipment = equipmentService.findById(equipmentId);
         
         EquipmentTransaction transaction = transactionService.purchaseEquipment(user, equipment, quantity);
-        return ResponseEntity.ok(transaction);
+        return ResponseEntity.ok(EquipmentTransactionSummary.from(transaction));
     }
     
     @PostMapping("/rent/{equipmentId}")
-    public ResponseEntity<EquipmentTransaction> rentEquipment(
+    public ResponseEntity<EquipmentTransactionSummary> rentEquipment(
             @PathVariable Long equipmentId,
             @RequestParam Integer quantity,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime returnDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime returnDate,
+            @RequestParam(required = false) Long reservationId,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
         
         User user = userService.findById(userDetails.getId());
         Equipment equipment = equipmentService.findById(equipmentId);
         
-        EquipmentTransaction transaction = transactionService.rentEquipment(user, equipment, quantity, returnDate);
-        return ResponseEntity.ok(transaction);
+        // Renting alongside a court booking covers exactly the booked slot
+        if (reservationId != null) {
+            Reservation reservation = reservationService.findById(reservationId);
+            if (reservation.getUser() == null || !reservation.getUser().getId().equals(user.getId())) {
+                return ResponseEntity.badRequest().build();
+            }
+            startDate = reservation.getStartTime();
+            returnDate = reservation.getEndTime();
+        }
+        if (returnDate == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        EquipmentTransaction transaction = transactionService.rentEquipment(user, equipment, quantity,
+                startDate != null ? startDate : LocalDateTime.now(), returnDate);
+        return ResponseEntity.ok(EquipmentTransactionSummary.from(transaction));
+    }
+    
+    @PostMapping("/checkout")
+    public ResponseEntity<?> checkout(
+            @Valid @RequestBody CartCheckoutRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        
+        User user = userService.findById(userDetails.getId());
+        
+        try {
+            List<EquipmentTransactionSummary> transactions = transactionService.checkout(user, request.getLines()).stream()
+                    .map(EquipmentTransactionSummary::from)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(transactions);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
     }
     
     @PutMapping("/{id}/return")
-    public ResponseEntity<EquipmentTransaction> returnRentedEquipment(
+    public ResponseEntity<EquipmentTransactionSummary> returnRentedEquipment(
             @PathVariable Long id,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
         
@@ -101,13 +159,13 @@ public class EquipmentTransactionController {
         }
         
         EquipmentTransaction updatedTransaction = transactionService.returnRentedEquipment(id);
-        return ResponseEntity.ok(updatedTransaction);
+        return ResponseEntity.ok(EquipmentTransactionSummary.from(updatedTransaction));
     }
     
     @PutMapping("/{id}/cancel")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<EquipmentTransaction> cancelTransaction(@PathVariable Long id) {
+    public ResponseEntity<EquipmentTransactionSummary> cancelTransaction(@PathVariable Long id) {
         EquipmentTransaction cancelledTransaction = transactionService.cancelTransaction(id);
-        return ResponseEntity.ok(cancelledTransaction);
+        return ResponseEntity.ok(EquipmentTransactionSummary.from(cancelledTransaction));
     }
 }
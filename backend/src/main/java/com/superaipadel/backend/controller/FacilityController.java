@@ -1,17 +1,31 @@
 package com.superaipadel.backend.controller;
 
+import com.superaipadel.backend.dto.projection.FacilitySummary;
+import com.superaipadel.backend.dto.request.OpeningHoursRequest;
 import com.superaipadel.backend.dto.response.MessageResponse;
+import com.superaipadel.backend.dto.response.NearbyFacilityResponse;
+import com.superaipadel.backend.dto.response.OpeningHoursResponse;
 import com.superaipadel.backend.model.Facility;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.security.services.UserDetailsImpl;
+import com.superaipadel.backend.service.AvailabilityService;
 import com.superaipadel.backend.service.FacilityService;
+import com.superaipadel.backend.service.PricingService;
 import com.superaipadel.backend.service.UserService;
+import com.superaipadel.backend.service.UserTokenService;
+import com.superaipadel.backend.service.availability.AvailabilityEventBus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -19,52 +33,146 @@ import java.util.List;
 @RequestMapping("/api/facilities")
 public class FacilityController {
     
+    private static final int MAX_NEARBY = 100;
+    private static final double MAX_RADIUS_KM = 500;
+    
     @Autowired
     private FacilityService facilityService;
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private AvailabilityService availabilityService;
+    
+    @Autowired
+    private AvailabilityEventBus availabilityEventBus;
+    
+    @Autowired
+    private PricingService pricingService;
+    
+    @Autowired
+    private UserTokenService userTokenService;
+    
     @GetMapping
-    public ResponseEntity<List<Facility>> getAllFacilities() {
-        List<Facility> facilities = facilityService.findAll();
+    public ResponseEntity<List<FacilitySummary>> getAllFacilities() {
+        List<FacilitySummary> facilities = facilityService.findAllSummaries();
         return ResponseEntity.ok(facilities);
     }
     
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyFacilities(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        if ((from == null) != (to == null)) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Both from and to are required to filter by availability"));
+        }
+        int size = Math.max(1, Math.min(limit, MAX_NEARBY));
+        double radius = Math.min(radiusKm, MAX_RADIUS_KM);
+        try {
+            // With a window, only facilities that have a terrain free for all of it are returned
+            List<NearbyFacilityResponse> facilities = from != null
+                    ? availabilityService.findNearbyAvailable(lat, lon, radius, size, from, to)
+                    : facilityService.findNearby(lat, lon, radius, size);
+            return ResponseEntity.ok(facilities);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Facility> getFacilityById(@PathVariable Long id) {
-        Facility facility = facilityService.findById(id);
+    public ResponseEntity<FacilitySummary> getFacilityById(@PathVariable Long id) {
+        FacilitySummary facility = facilityService.findSummaryById(id);
         return ResponseEntity.ok(facility);
     }
     
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<?> getFacilityAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "30m") String granularity) {
+        
+        try {
+            return ResponseEntity.ok(availabilityService.getFacilityGrid(id, from, to, parseGranularity(granularity)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/{id}/prices")
+    public ResponseEntity<?> getFacilityPrices(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "30m") String granularity,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        
+        boolean member = userDetails != null && userTokenService.isMember(userDetails.getId());
+        try {
+            return ResponseEntity.ok(pricingService.quoteGrid(id, from, to, parseGranularity(granularity), member));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/{id}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamFacilityAvailability(@PathVariable Long id) {
+        facilityService.findSummaryById(id);
+        try {
+            return ResponseEntity.ok(availabilityEventBus.subscribe(id));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
+    @GetMapping("/{id}/opening-hours")
+    public ResponseEntity<OpeningHoursResponse> getOpeningHours(@PathVariable Long id) {
+        return ResponseEntity.ok(facilityService.getOpeningHours(id));
+    }
+    
+    @PutMapping("/{id}/opening-hours")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> replaceOpeningHours(@PathVariable Long id, @RequestBody OpeningHoursRequest request) {
+        try {
+            return ResponseEntity.ok(facilityService.replaceOpeningHours(id, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/city/{city}")
-    public ResponseEntity<List<Facility>> getFacilitiesByCity(@PathVariable String city) {
-        List<Facility> facilities = facilityService.findByCity(city);
+    public ResponseEntity<List<FacilitySummary>> getFacilitiesByCity(@PathVariable String city) {
+        List<FacilitySummary> facilities = facilityService.findSummariesByCity(city);
         return ResponseEntity.ok(facilities);
     }
     
     @GetMapping("/my-facilities")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<Facility>> getMyFacilities(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userService.findById(userDetails.getId());
-        List<Facility> facilities = facilityService.findByOwner(user);
+    public ResponseEntity<List<FacilitySummary>> getMyFacilities(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<FacilitySummary> facilities = facilityService.findSummariesByOwnerId(userDetails.getId());
         return ResponseEntity.ok(facilities);
     }
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Facility> createFacility(@RequestBody Facility facility, @AuthenticationPrincipal UserDetailsImpl userDetails) {
+    public ResponseEntity<FacilitySummary> createFacility(@RequestBody Facility facility, @AuthenticationPrincipal UserDetailsImpl userDetails) {
         User user = userService.findById(userDetails.getId());
         facility.setOwner(user);
         Facility createdFacility = facilityService.save(facility);
-        return ResponseEntity.ok(createdFacility);
+        return ResponseEntity.ok(FacilitySummary.from(createdFacility));
     }
     
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Facility> updateFacility(@PathVariable Long id, @RequestBody Facility facilityDetails) {
+    public ResponseEntity<FacilitySummary> updateFacility(@PathVariable Long id, @RequestBody Facility facilityDetails) {
         Facility updatedFacility = facilityService.update(id, facilityDetails);
-        return ResponseEntity.ok(updatedFacility);
+        return ResponseEntity.ok(FacilitySummary.from(updatedFacility));
     }
     
     @DeleteMapping("/{id}")
@@ -73,4 +181,23 @@ public class FacilityController {
         facilityService.deleteById(id);
         return ResponseEntity.ok(new MessageResponse("Facility deleted successfully"));
     }
+    
+    // Accepts "30m", "1h", plain minutes or an ISO-8601 duration such as "PT15M"
+    private Duration parseGranularity(String granularity) {
+        String value = granularity.trim().toLowerCase();
+        try {
+            if (value.startsWith("p")) {
+                return Duration.parse(value.toUpperCase());
+            }
+            if (value.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            if (value.endsWith("h")) {
+                return Duration.ofHours(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            return Duration.ofMinutes(Long.parseLong(value));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid granularity: " + granularity);
+        }
+    }
 }
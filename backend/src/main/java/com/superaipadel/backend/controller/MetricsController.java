@@ -0,0 +1,33 @@
+package com.superaipadel.backend.controller;
+
+import com.superaipadel.backend.dto.response.PasswordHashingMetricsResponse;
+import com.superaipadel.backend.dto.response.RateLimitMetricsResponse;
+import com.superaipadel.backend.security.ratelimit.RateLimiter;
+import com.superaipadel.backend.security.services.PasswordHashingExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/metrics")
+@PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+public class MetricsController {
+    
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingMetricsResponse> getPasswordHashingMetrics() {
+        return ResponseEntity.ok(passwordHashingExecutor.metrics());
+    }
+    
+    @GetMapping("/rate-limits")
+    public ResponseEntity<RateLimitMetricsResponse> getRateLimitMetrics() {
+        return ResponseEntity.ok(rateLimiter.metrics());
+    }
+}
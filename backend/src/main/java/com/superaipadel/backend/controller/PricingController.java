@@ -0,0 +1,75 @@
+package com.superaipadel.backend.controller;
+
+import com.superaipadel.backend.dto.request.PricingRuleRequest;
+import com.superaipadel.backend.dto.response.MessageResponse;
+import com.superaipadel.backend.dto.response.PriceQuoteResponse;
+import com.superaipadel.backend.model.PricingRule;
+import com.superaipadel.backend.security.services.UserDetailsImpl;
+import com.superaipadel.backend.service.FacilityService;
+import com.superaipadel.backend.service.PricingService;
+import com.superaipadel.backend.service.UserTokenService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/pricing")
+public class PricingController {
+    
+    @Autowired
+    private PricingService pricingService;
+    
+    @Autowired
+    private FacilityService facilityService;
+    
+    @Autowired
+    private UserTokenService userTokenService;
+    
+    @GetMapping("/quote")
+    public ResponseEntity<?> quote(
+            @RequestParam Long terrainId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        
+        boolean member = userDetails != null && userTokenService.isMember(userDetails.getId());
+        try {
+            return ResponseEntity.ok(new PriceQuoteResponse(terrainId, startTime, endTime, member,
+                    pricingService.quote(terrainId, startTime, endTime, member)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/facility/{facilityId}/rules")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<PricingRule>> getRules(@PathVariable Long facilityId) {
+        return ResponseEntity.ok(pricingService.findRules(facilityId));
+    }
+    
+    @PostMapping("/facility/{facilityId}/rules")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> createRule(@PathVariable Long facilityId, @Valid @RequestBody PricingRuleRequest request) {
+        facilityService.findSummaryById(facilityId);
+        try {
+            return ResponseEntity.ok(pricingService.createRule(facilityId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/facility/{facilityId}/rules/{ruleId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<MessageResponse> deleteRule(@PathVariable Long facilityId, @PathVariable Long ruleId) {
+        pricingService.deleteRule(facilityId, ruleId);
+        return ResponseEntity.ok(new MessageResponse("Pricing rule deleted successfully"));
+    }
+}
@@ -1,6 +1,14 @@
 package com.superaipadel.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.superaipadel.backend.dto.projection.ReservationSummary;
+import com.superaipadel.backend.dto.request.BulkReservationRequest;
+import com.superaipadel.backend.dto.request.ReservationFilter;
+import com.superaipadel.backend.dto.request.SlotHoldRequest;
+import com.superaipadel.backend.dto.response.BulkReservationResponse;
+import com.superaipadel.backend.dto.response.KeysetPageResponse;
 import com.superaipadel.backend.dto.response.MessageResponse;
+import com.superaipadel.backend.dto.response.SlotHoldResponse;
 import com.superaipadel.backend.model.Reservation;
 import com.superaipadel.backend.model.Terrain;
 import com.superaipadel.backend.model.User;
@@ -8,13 +16,24 @@ import com.superaipadel.backend.security.services.UserDetailsImpl;
 import com.superaipadel.backend.service.ReservationService;
 import com.superaipadel.backend.service.TerrainService;
 import com.superaipadel.backend.service.UserService;
+import com.superaipadel.backend.service.availability.SlotHold;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -23,6 +42,9 @@ import java.util.List;
 @RequestMapping("/api/reservations")
 public class ReservationController {
     
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
     @Autowired
     private ReservationService reservationService;
     
@@ -32,38 +54,72 @@ public class ReservationController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<Reservation>> getAllReservations() {
-        List<Reservation> reservations = reservationService.findAll();
-        return ResponseEntity.ok(reservations);
+    public ResponseEntity<?> getAllReservations(
+            @RequestParam(required = false) Long terrainId,
+            @RequestParam(required = false) Reservation.ReservationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        return findPage(buildFilter(null, terrainId, status, from, to), cursor, limit);
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam(required = false) Long facilityId,
+            @RequestParam(required = false) Long terrainId,
+            @RequestParam(required = false) Reservation.ReservationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        ReservationFilter filter = buildFilter(facilityId, terrainId, status, from, to);
+        
+        // One JSON object per line, written as rows come off the database cursor
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            reservationService.streamReservations(filter, summary -> writeLine(writer, summary));
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Reservation> getReservationById(@PathVariable Long id) {
-        Reservation reservation = reservationService.findById(id);
+    public ResponseEntity<ReservationSummary> getReservationById(@PathVariable Long id) {
+        ReservationSummary reservation = reservationService.findSummaryById(id);
         return ResponseEntity.ok(reservation);
     }
     
     @GetMapping("/my-reservations")
-    public ResponseEntity<List<Reservation>> getMyReservations(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userService.findById(userDetails.getId());
-        List<Reservation> reservations = reservationService.findByUser(user);
+    public ResponseEntity<List<ReservationSummary>> getMyReservations(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<ReservationSummary> reservations = reservationService.findSummariesByUserId(userDetails.getId());
         return ResponseEntity.ok(reservations);
     }
     
     @GetMapping("/terrain/{terrainId}")
-    public ResponseEntity<List<Reservation>> getReservationsByTerrain(@PathVariable Long terrainId) {
-        Terrain terrain = terrainService.findById(terrainId);
-        List<Reservation> reservations = reservationService.findByTerrain(terrain);
+    public ResponseEntity<List<ReservationSummary>> getReservationsByTerrain(@PathVariable Long terrainId) {
+        List<ReservationSummary> reservations = reservationService.findSummariesByTerrainId(terrainId);
         return ResponseEntity.ok(reservations);
     }
     
     @GetMapping("/facility/{facilityId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<Reservation>> getReservationsByFacility(@PathVariable Long facilityId) {
-        List<Reservation> reservations = reservationService.findByFacilityId(facilityId);
-        return ResponseEntity.ok(reservations);
+    public ResponseEntity<?> getReservationsByFacility(
+            @PathVariable Long facilityId,
+            @RequestParam(required = false) Long terrainId,
+            @RequestParam(required = false) Reservation.ReservationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        return findPage(buildFilter(facilityId, terrainId, status, from, to), cursor, limit);
     }
     
     @GetMapping("/check-availability")
@@ -83,40 +139,93 @@ public class ReservationController {
     }
     
     @PostMapping("/terrain/{terrainId}")
-    public ResponseEntity<Reservation> createReservation(
+    public ResponseEntity<ReservationSummary> createReservation(
+            @PathVariable Long terrainId,
+            @RequestBody Reservation reservation,
+            @RequestParam(required = false) String holdId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        
+        User user = userService.findById(userDetails.getId());
+        Terrain terrain = terrainService.findById(terrainId);
+        
+        Reservation createdReservation = reservationService.createReservation(user, terrain, reservation, holdId);
+        return ResponseEntity.ok(ReservationSummary.from(createdReservation));
+    }
+    
+    @PostMapping("/terrain/{terrainId}/pay-with-tokens")
+    public ResponseEntity<?> createReservationWithTokens(
             @PathVariable Long terrainId,
             @RequestBody Reservation reservation,
+            @RequestParam(required = false) String holdId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        
+        User user = userService.findById(userDetails.getId());
+        Terrain terrain = terrainService.findById(terrainId);
+        
+        try {
+            Reservation createdReservation = reservationService.createReservationWithTokens(user, terrain, reservation, holdId);
+            return ResponseEntity.ok(ReservationSummary.from(createdReservation));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/terrain/{terrainId}/bulk")
+    public ResponseEntity<?> createReservations(
+            @PathVariable Long terrainId,
+            @RequestBody BulkReservationRequest request,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
         
         User user = userService.findById(userDetails.getId());
         Terrain terrain = terrainService.findById(terrainId);
         
-        // Check if time slot is available
-        if (!reservationService.isTimeSlotAvailable(terrain, reservation.getStartTime(), reservation.getEndTime())) {
-            throw new RuntimeException("The selected time slot is not available");
+        try {
+            BulkReservationResponse response = reservationService.createReservations(user, terrain, request);
+            if (response.getCreated().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
+    }
+    
+    @PostMapping("/holds")
+    public ResponseEntity<?> createHold(
+            @Valid @RequestBody SlotHoldRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
         
-        reservation.setUser(user);
-        reservation.setTerrain(terrain);
-        reservation.setStatus(Reservation.ReservationStatus.CONFIRMED);
-        reservation.setCreatedAt(LocalDateTime.now());
+        User user = userService.findById(userDetails.getId());
+        Terrain terrain = terrainService.findById(request.getTerrainId());
         
-        // Calculate price based on terrain price and duration
-        long hours = java.time.Duration.between(reservation.getStartTime(), reservation.getEndTime()).toHours();
-        reservation.setPrice(terrain.getPricePerHour().multiply(java.math.BigDecimal.valueOf(hours)));
+        try {
+            SlotHold hold = reservationService.createHold(user, terrain, request.getStartTime(), request.getEndTime());
+            return ResponseEntity.ok(SlotHoldResponse.from(hold));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<MessageResponse> releaseHold(
+            @PathVariable String holdId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
         
-        Reservation createdReservation = reservationService.save(reservation);
-        return ResponseEntity.ok(createdReservation);
+        User user = userService.findById(userDetails.getId());
+        if (!reservationService.releaseHold(user, holdId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse("Hold not found or expired"));
+        }
+        return ResponseEntity.ok(new MessageResponse("Hold released successfully"));
     }
     
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or @reservationSecurity.isReservationOwner(#id)")
-    public ResponseEntity<Reservation> updateReservationStatus(
+    public ResponseEntity<ReservationSummary> updateReservationStatus(
             @PathVariable Long id,
             @RequestParam Reservation.ReservationStatus status) {
         
         Reservation updatedReservation = reservationService.changeStatus(id, status);
-        return ResponseEntity.ok(updatedReservation);
+        return ResponseEntity.ok(ReservationSummary.from(updatedReservation));
     }
     
     @DeleteMapping("/{id}")
@@ -125,4 +234,34 @@ public class ReservationController {
         reservationService.deleteById(id);
         return ResponseEntity.ok(new MessageResponse("Reservation deleted successfully"));
     }
+    
+    private ResponseEntity<?> findPage(ReservationFilter filter, String cursor, int limit) {
+        try {
+            KeysetPageResponse<ReservationSummary> page =
+                    reservationService.findPage(filter, cursor, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    private ReservationFilter buildFilter(Long facilityId, Long terrainId, Reservation.ReservationStatus status,
+                                          LocalDateTime from, LocalDateTime to) {
+        ReservationFilter filter = new ReservationFilter();
+        filter.setFacilityId(facilityId);
+        filter.setTerrainId(terrainId);
+        filter.setStatus(status);
+        filter.setFrom(from);
+        filter.setTo(to);
+        return filter;
+    }
+    
+    private void writeLine(Writer writer, ReservationSummary summary) {
+        try {
+            writer.write(objectMapper.writeValueAsString(summary));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
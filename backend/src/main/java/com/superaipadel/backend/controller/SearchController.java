@@ -0,0 +1,58 @@
+package com.superaipadel.backend.controller;
+
+import com.superaipadel.backend.dto.request.FreeSlotFilter;
+import com.superaipadel.backend.dto.response.MessageResponse;
+import com.superaipadel.backend.security.services.UserDetailsImpl;
+import com.superaipadel.backend.service.AvailabilityService;
+import com.superaipadel.backend.service.UserTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    
+    private static final int MAX_RESULTS = 200;
+    
+    @Autowired
+    private AvailabilityService availabilityService;
+    
+    @Autowired
+    private UserTokenService userTokenService;
+    
+    @GetMapping("/free-slots")
+    public ResponseEntity<?> findFreeSlots(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) List<Long> facilityIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "60") int durationMinutes,
+            @RequestParam(defaultValue = "30") int stepMinutes,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        
+        FreeSlotFilter filter = new FreeSlotFilter();
+        filter.setCity(city);
+        filter.setFacilityIds(facilityIds);
+        filter.setFrom(from);
+        filter.setTo(to);
+        filter.setDuration(Duration.ofMinutes(durationMinutes));
+        filter.setStep(Duration.ofMinutes(stepMinutes));
+        filter.setLimit(Math.max(1, Math.min(limit, MAX_RESULTS)));
+        filter.setMember(userDetails != null && userTokenService.isMember(userDetails.getId()));
+        
+        try {
+            return ResponseEntity.ok(availabilityService.findFreeSlots(filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.superaipadel.backend.controller;
 
+import com.superaipadel.backend.dto.projection.TerrainSummary;
+import com.superaipadel.backend.dto.request.TerrainBlackoutRequest;
 import com.superaipadel.backend.dto.response.MessageResponse;
+import com.superaipadel.backend.dto.response.TerrainBlackoutResponse;
 import com.superaipadel.backend.model.Facility;
 import com.superaipadel.backend.model.Terrain;
+import com.superaipadel.backend.model.TerrainBlackout;
 import com.superaipadel.backend.service.FacilityService;
+import com.superaipadel.backend.service.ReservationService;
 import com.superaipadel.backend.service.TerrainService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,61 +29,81 @@ public class TerrainController {
     @Autowired
     private FacilityService facilityService;
     
+    @Autowired
+    private ReservationService reservationService;
+    
     @GetMapping
-    public ResponseEntity<List<Terrain>> getAllTerrains() {
-        List<Terrain> terrains = terrainService.findByActive(true);
+    public ResponseEntity<List<TerrainSummary>> getAllTerrains() {
+        List<TerrainSummary> terrains = terrainService.findSummariesByActive(true);
         return ResponseEntity.ok(terrains);
     }
     
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<Terrain>> getAllTerrainsAdmin() {
-        List<Terrain> terrains = terrainService.findAll();
+    public ResponseEntity<List<TerrainSummary>> getAllTerrainsAdmin() {
+        List<TerrainSummary> terrains = terrainService.findAllSummaries();
         return ResponseEntity.ok(terrains);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Terrain> getTerrainById(@PathVariable Long id) {
-        Terrain terrain = terrainService.findById(id);
+    public ResponseEntity<TerrainSummary> getTerrainById(@PathVariable Long id) {
+        TerrainSummary terrain = terrainService.findSummaryById(id);
         return ResponseEntity.ok(terrain);
     }
     
     @GetMapping("/facility/{facilityId}")
-    public ResponseEntity<List<Terrain>> getTerrainsByFacility(@PathVariable Long facilityId) {
-        Facility facility = facilityService.findById(facilityId);
-        List<Terrain> terrains = terrainService.findByFacilityAndActive(facility, true);
+    public ResponseEntity<List<TerrainSummary>> getTerrainsByFacility(@PathVariable Long facilityId) {
+        List<TerrainSummary> terrains = terrainService.findSummariesByFacilityIdAndActive(facilityId, true);
         return ResponseEntity.ok(terrains);
     }
     
     @GetMapping("/facility/{facilityId}/all")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<Terrain>> getAllTerrainsByFacility(@PathVariable Long facilityId) {
-        Facility facility = facilityService.findById(facilityId);
-        List<Terrain> terrains = terrainService.findByFacility(facility);
+    public ResponseEntity<List<TerrainSummary>> getAllTerrainsByFacility(@PathVariable Long facilityId) {
+        List<TerrainSummary> terrains = terrainService.findSummariesByFacilityId(facilityId);
         return ResponseEntity.ok(terrains);
     }
     
     @PostMapping("/facility/{facilityId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Terrain> createTerrain(@PathVariable Long facilityId, @RequestBody Terrain terrain) {
+    public ResponseEntity<TerrainSummary> createTerrain(@PathVariable Long facilityId, @RequestBody Terrain terrain) {
         Facility facility = facilityService.findById(facilityId);
         terrain.setFacility(facility);
         Terrain createdTerrain = terrainService.save(terrain);
-        return ResponseEntity.ok(createdTerrain);
+        return ResponseEntity.ok(TerrainSummary.from(createdTerrain));
     }
     
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Terrain> updateTerrain(@PathVariable Long id, @RequestBody Terrain terrainDetails) {
+    public ResponseEntity<TerrainSummary> updateTerrain(@PathVariable Long id, @RequestBody Terrain terrainDetails) {
         Terrain updatedTerrain = terrainService.update(id, terrainDetails);
-        return ResponseEntity.ok(updatedTerrain);
+        return ResponseEntity.ok(TerrainSummary.from(updatedTerrain));
     }
     
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Terrain> updateTerrainStatus(@PathVariable Long id, @RequestParam boolean active) {
+    public ResponseEntity<TerrainSummary> updateTerrainStatus(@PathVariable Long id, @RequestParam boolean active) {
         terrainService.setTerrainStatus(id, active);
-        return ResponseEntity.ok(terrainService.findById(id));
+        return ResponseEntity.ok(terrainService.findSummaryById(id));
+    }
+    
+    @GetMapping("/{id}/blackouts")
+    public ResponseEntity<List<TerrainBlackout>> getBlackouts(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.findBlackouts(id));
+    }
+    
+    @PostMapping("/{id}/blackouts")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<TerrainBlackoutResponse> declareBlackout(@PathVariable Long id, @Valid @RequestBody TerrainBlackoutRequest request) {
+        Terrain terrain = terrainService.findById(id);
+        return ResponseEntity.ok(reservationService.declareBlackout(terrain, request));
+    }
+    
+    @DeleteMapping("/{id}/blackouts/{blackoutId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<MessageResponse> deleteBlackout(@PathVariable Long id, @PathVariable Long blackoutId) {
+        reservationService.deleteBlackout(id, blackoutId);
+        return ResponseEntity.ok(new MessageResponse("Blackout deleted successfully"));
     }
     
     @DeleteMapping("/{id}")
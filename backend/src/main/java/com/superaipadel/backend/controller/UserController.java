@@ -1,6 +1,9 @@
 package com.superaipadel.backend.controller;
 
+import com.superaipadel.backend.dto.projection.UserSummary;
+import com.superaipadel.backend.dto.response.KeysetPageResponse;
 import com.superaipadel.backend.dto.response.MessageResponse;
+import com.superaipadel.backend.model.Role;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.security.services.UserDetailsImpl;
 import com.superaipadel.backend.service.UserService;
@@ -10,41 +13,50 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
     
+    private static final int MAX_PAGE_SIZE = 500;
+    
     @Autowired
     private UserService userService;
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) Role.ERole role,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            KeysetPageResponse<UserSummary> page =
+                    userService.findPage(role, q, cursor, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or @userSecurity.isCurrentUser(#id)")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserSummary> getUserById(@PathVariable Long id) {
         User user = userService.findById(id);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserSummary.from(user));
     }
     
     @GetMapping("/profile")
-    public ResponseEntity<User> getCurrentUserProfile(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+    public ResponseEntity<UserSummary> getCurrentUserProfile(@AuthenticationPrincipal UserDetailsImpl userDetails) {
         User user = userService.findById(userDetails.getId());
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserSummary.from(user));
     }
     
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or @userSecurity.isCurrentUser(#id)")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
+    public ResponseEntity<UserSummary> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
         User updatedUser = userService.updateProfile(id, userDetails);
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok(UserSummary.from(updatedUser));
     }
     
     @DeleteMapping("/{id}")
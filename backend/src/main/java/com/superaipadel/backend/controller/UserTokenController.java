@@ -1,6 +1,7 @@
 package com.superaipadel.backend.controller;
 
 import com.superaipadel.backend.dto.response.MessageResponse;
+import com.superaipadel.backend.dto.response.TokenBalanceResponse;
 import com.superaipadel.backend.model.TokenPack;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.model.UserToken;
@@ -59,6 +60,13 @@ public class UserTokenController {
         return ResponseEntity.ok(userTokens);
     }
     
+    @GetMapping("/user/{userId}/reconcile")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<TokenBalanceResponse> reconcileUserTokens(@PathVariable Long userId) {
+        User user = userService.findById(userId);
+        return ResponseEntity.ok(userTokenService.reconcile(user));
+    }
+    
     @PostMapping("/purchase/{tokenPackId}")
     public ResponseEntity<UserToken> purchaseTokens(
             @PathVariable Long tokenPackId,
@@ -0,0 +1,51 @@
+package com.superaipadel.backend.dto.projection;
+
+import com.superaipadel.backend.model.Equipment;
+import com.superaipadel.backend.model.EquipmentTransaction;
+import com.superaipadel.backend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentTransactionSummary {
+    private Long id;
+    private Long equipmentId;
+    private String equipmentName;
+    private Long userId;
+    private String username;
+    private EquipmentTransaction.TransactionType type;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal totalAmount;
+    private LocalDateTime transactionDate;
+    private LocalDateTime rentalStartDate;
+    private LocalDateTime returnDate;
+    private EquipmentTransaction.TransactionStatus status;
+    private String notes;
+
+    public static EquipmentTransactionSummary from(EquipmentTransaction transaction) {
+        Equipment equipment = transaction.getEquipment();
+        User user = transaction.getUser();
+        return new EquipmentTransactionSummary(
+                transaction.getId(),
+                equipment != null ? equipment.getId() : null,
+                equipment != null ? equipment.getName() : null,
+                user != null ? user.getId() : null,
+                user != null ? user.getUsername() : null,
+                transaction.getType(),
+                transaction.getQuantity(),
+                transaction.getUnitPrice(),
+                transaction.getTotalAmount(),
+                transaction.getTransactionDate(),
+                transaction.getRentalStartDate(),
+                transaction.getReturnDate(),
+                transaction.getStatus(),
+                transaction.getNotes());
+    }
+}
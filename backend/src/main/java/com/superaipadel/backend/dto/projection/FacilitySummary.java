@@ -0,0 +1,40 @@
+package com.superaipadel.backend.dto.projection;
+
+import com.superaipadel.backend.model.Facility;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacilitySummary {
+    private Long id;
+    private String name;
+    private String address;
+    private String city;
+    private String description;
+    private String imageUrl;
+    private String contactPhone;
+    private String contactEmail;
+    private String openingHours;
+    private Double latitude;
+    private Double longitude;
+    private Long ownerId;
+
+    public static FacilitySummary from(Facility facility) {
+        return new FacilitySummary(
+                facility.getId(),
+                facility.getName(),
+                facility.getAddress(),
+                facility.getCity(),
+                facility.getDescription(),
+                facility.getImageUrl(),
+                facility.getContactPhone(),
+                facility.getContactEmail(),
+                facility.getOpeningHours(),
+                facility.getLatitude(),
+                facility.getLongitude(),
+                facility.getOwner() != null ? facility.getOwner().getId() : null);
+    }
+}
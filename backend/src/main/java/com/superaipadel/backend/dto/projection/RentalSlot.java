@@ -0,0 +1,18 @@
+package com.superaipadel.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalSlot {
+    private Long transactionId;
+    private Long equipmentId;
+    private Integer quantity;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,17 @@
+package com.superaipadel.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSlot {
+    private Long reservationId;
+    private Long terrainId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
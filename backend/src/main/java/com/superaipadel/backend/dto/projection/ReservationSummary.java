@@ -0,0 +1,53 @@
+package com.superaipadel.backend.dto.projection;
+
+import com.superaipadel.backend.model.Facility;
+import com.superaipadel.backend.model.Reservation;
+import com.superaipadel.backend.model.Terrain;
+import com.superaipadel.backend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSummary {
+    private Long id;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal price;
+    private Reservation.ReservationStatus status;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime cancelledAt;
+    private Long userId;
+    private String username;
+    private Long terrainId;
+    private String terrainName;
+    private Long facilityId;
+    private String facilityName;
+
+    public static ReservationSummary from(Reservation reservation) {
+        User user = reservation.getUser();
+        Terrain terrain = reservation.getTerrain();
+        Facility facility = terrain != null ? terrain.getFacility() : null;
+        return new ReservationSummary(
+                reservation.getId(),
+                reservation.getStartTime(),
+                reservation.getEndTime(),
+                reservation.getPrice(),
+                reservation.getStatus(),
+                reservation.getNotes(),
+                reservation.getCreatedAt(),
+                reservation.getCancelledAt(),
+                user != null ? user.getId() : null,
+                user != null ? user.getUsername() : null,
+                terrain != null ? terrain.getId() : null,
+                terrain != null ? terrain.getName() : null,
+                facility != null ? facility.getId() : null,
+                facility != null ? facility.getName() : null);
+    }
+}
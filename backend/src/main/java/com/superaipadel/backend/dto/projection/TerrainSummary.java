@@ -0,0 +1,40 @@
+package com.superaipadel.backend.dto.projection;
+
+import com.superaipadel.backend.model.Facility;
+import com.superaipadel.backend.model.Terrain;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TerrainSummary {
+    private Long id;
+    private String name;
+    private String description;
+    private String imageUrl;
+    private BigDecimal pricePerHour;
+    private boolean indoor;
+    private Terrain.TerrainType type;
+    private boolean active;
+    private Long facilityId;
+    private String facilityName;
+
+    public static TerrainSummary from(Terrain terrain) {
+        Facility facility = terrain.getFacility();
+        return new TerrainSummary(
+                terrain.getId(),
+                terrain.getName(),
+                terrain.getDescription(),
+                terrain.getImageUrl(),
+                terrain.getPricePerHour(),
+                terrain.isIndoor(),
+                terrain.getType(),
+                terrain.isActive(),
+                facility != null ? facility.getId() : null,
+                facility != null ? facility.getName() : null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.superaipadel.backend.dto.projection;
+
+import com.superaipadel.backend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String phoneNumber;
+    private String profilePictureUrl;
+    private List<String> roles;
+
+    public static UserSummary from(User user) {
+        return new UserSummary(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getPhoneNumber(),
+                user.getProfilePictureUrl(),
+                user.getRoles().stream()
+                        .map(role -> role.getName().name())
+                        .sorted()
+                        .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.superaipadel.backend.dto.request;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Either an explicit list of intervals or a recurrence rule; when both are given they are combined.
+ */
+@Data
+public class BulkReservationRequest {
+    private List<Interval> intervals;
+    private Recurrence recurrence;
+    private String notes;
+
+    // When set, nothing is booked unless every occurrence is free
+    private boolean allOrNothing;
+
+    @Data
+    public static class Interval {
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+    }
+
+    /**
+     * Repeats {@code firstStartTime} every {@code interval} days or weeks until {@code count}
+     * occurrences have been produced or {@code until} (inclusive) has passed.
+     */
+    @Data
+    public static class Recurrence {
+        private LocalDateTime firstStartTime;
+        private int durationMinutes;
+        private Frequency frequency = Frequency.WEEKLY;
+        private int interval = 1;
+        private Integer count;
+        private LocalDate until;
+    }
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY
+    }
+}
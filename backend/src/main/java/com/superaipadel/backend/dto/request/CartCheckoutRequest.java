@@ -0,0 +1,38 @@
+package com.superaipadel.backend.dto.request;
+
+import com.superaipadel.backend.model.EquipmentTransaction;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class CartCheckoutRequest {
+    @NotEmpty
+    @Size(max = 100)
+    @Valid
+    private List<CartLine> lines;
+
+    @Data
+    public static class CartLine {
+        @NotNull
+        private Long equipmentId;
+
+        @NotNull
+        @Min(1)
+        private Integer quantity;
+
+        @NotNull
+        private EquipmentTransaction.TransactionType type;
+
+        // Rentals start now unless a start date is given; the return date is required
+        private LocalDateTime startDate;
+
+        private LocalDateTime returnDate;
+    }
+}
@@ -0,0 +1,19 @@
+package com.superaipadel.backend.dto.request;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class FreeSlotFilter {
+    private String city;
+    private List<Long> facilityIds;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Duration duration;
+    private Duration step;
+    private int limit;
+    private boolean member;
+}
@@ -0,0 +1,34 @@
+package com.superaipadel.backend.dto.request;
+
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Replaces a facility's whole schedule. An empty weekly list means open around the clock.
+ */
+@Data
+public class OpeningHoursRequest {
+    private List<Period> weekly;
+    private List<DateOverride> overrides;
+
+    // A close time at or before the open time runs past midnight
+    @Data
+    public static class Period {
+        private DayOfWeek dayOfWeek;
+        private LocalTime openTime;
+        private LocalTime closeTime;
+    }
+
+    // Without open and close times the facility is closed all day
+    @Data
+    public static class DateOverride {
+        private LocalDate date;
+        private LocalTime openTime;
+        private LocalTime closeTime;
+        private String reason;
+    }
+}
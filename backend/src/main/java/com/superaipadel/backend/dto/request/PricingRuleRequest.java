@@ -0,0 +1,35 @@
+package com.superaipadel.backend.dto.request;
+
+import com.superaipadel.backend.model.PricingRule;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+public class PricingRuleRequest {
+    // Leave empty for a rule covering every terrain of the facility
+    private Long terrainId;
+
+    @NotEmpty
+    private Set<DayOfWeek> days;
+
+    @NotNull
+    private LocalTime startTime;
+
+    @NotNull
+    private LocalTime endTime;
+
+    @NotNull
+    @DecimalMin("0.00")
+    private BigDecimal pricePerHour;
+
+    private PricingRule.Audience audience = PricingRule.Audience.ALL;
+
+    private int priority;
+}
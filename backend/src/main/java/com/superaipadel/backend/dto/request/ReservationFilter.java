@@ -0,0 +1,15 @@
+package com.superaipadel.backend.dto.request;
+
+import com.superaipadel.backend.model.Reservation;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ReservationFilter {
+    private Long facilityId;
+    private Long terrainId;
+    private Reservation.ReservationStatus status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
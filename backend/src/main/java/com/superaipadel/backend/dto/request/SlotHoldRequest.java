@@ -0,0 +1,18 @@
+package com.superaipadel.backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SlotHoldRequest {
+    @NotNull
+    private Long terrainId;
+
+    @NotNull
+    private LocalDateTime startTime;
+
+    @NotNull
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,19 @@
+package com.superaipadel.backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class TerrainBlackoutRequest {
+    @NotNull
+    private LocalDateTime startTime;
+
+    @NotNull
+    private LocalDateTime endTime;
+
+    @Size(max = 200)
+    private String reason;
+}
@@ -0,0 +1,32 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityGridResponse {
+    private Long facilityId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long granularityMinutes;
+    private int slotCount;
+    private List<TerrainRow> terrains;
+
+    /**
+     * One row of the grid: {@code occupied} holds one character per slot, '1' when the slot is taken.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TerrainRow {
+        private Long terrainId;
+        private String name;
+        private String occupied;
+    }
+}
@@ -0,0 +1,26 @@
+package com.superaipadel.backend.dto.response;
+
+import com.superaipadel.backend.dto.projection.ReservationSummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReservationResponse {
+    private List<ReservationSummary> created;
+    private List<Conflict> conflicts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Conflict {
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private String reason;
+    }
+}
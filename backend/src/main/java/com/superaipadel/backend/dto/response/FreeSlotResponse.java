@@ -0,0 +1,21 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotResponse {
+    private Long facilityId;
+    private String facilityName;
+    private Long terrainId;
+    private String terrainName;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal price;
+}
@@ -0,0 +1,19 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code cursor} to fetch
+ * the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+}
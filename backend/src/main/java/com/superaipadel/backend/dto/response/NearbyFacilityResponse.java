@@ -0,0 +1,14 @@
+package com.superaipadel.backend.dto.response;
+
+import com.superaipadel.backend.dto.projection.FacilitySummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyFacilityResponse {
+    private FacilitySummary facility;
+    private double distanceKm;
+}
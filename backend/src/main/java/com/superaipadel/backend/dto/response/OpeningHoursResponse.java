@@ -0,0 +1,46 @@
+package com.superaipadel.backend.dto.response;
+
+import com.superaipadel.backend.model.OpeningOverride;
+import com.superaipadel.backend.model.OpeningPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningHoursResponse {
+    private Long facilityId;
+    private List<Period> weekly;
+    private List<DateOverride> overrides;
+
+    public static OpeningHoursResponse from(Long facilityId, List<OpeningPeriod> periods, List<OpeningOverride> overrides) {
+        return new OpeningHoursResponse(facilityId,
+                periods.stream().map(p -> new Period(p.getDayOfWeek(), p.getOpenTime(), p.getCloseTime())).toList(),
+                overrides.stream().map(o -> new DateOverride(o.getDate(), o.getOpenTime(), o.getCloseTime(), o.getReason())).toList());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Period {
+        private DayOfWeek dayOfWeek;
+        private LocalTime openTime;
+        private LocalTime closeTime;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DateOverride {
+        private LocalDate date;
+        private LocalTime openTime;
+        private LocalTime closeTime;
+        private String reason;
+    }
+}
@@ -0,0 +1,25 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of the password hashing executor since startup. Latencies are in milliseconds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashingMetricsResponse {
+    private int strength;
+    private int threads;
+    private int activeThreads;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    private long failed;
+    private long rejected;
+    private double averageQueueWaitMs;
+    private double averageRunMs;
+    private double maxRunMs;
+}
@@ -0,0 +1,35 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Prices laid out like {@link AvailabilityGridResponse}: one price per slot and terrain, for the same
+ * window and granularity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceGridResponse {
+    private Long facilityId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long granularityMinutes;
+    private int slotCount;
+    private boolean member;
+    private List<TerrainRow> terrains;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TerrainRow {
+        private Long terrainId;
+        private String name;
+        private List<BigDecimal> prices;
+    }
+}
@@ -0,0 +1,19 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteResponse {
+    private Long terrainId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private boolean member;
+    private BigDecimal price;
+}
@@ -0,0 +1,31 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Rate limit settings and counters per route group since startup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitMetricsResponse {
+    private boolean enabled;
+    private List<Group> groups;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+        private String name;
+        private List<String> paths;
+        private int capacity;
+        private int refillPerMinute;
+        private int trackedClients;
+        private long allowed;
+        private long rejected;
+    }
+}
@@ -0,0 +1,23 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units of an item free for the whole window: stock on hand minus the most units rented out at
+ * any moment of the window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalAvailabilityResponse {
+    private Long equipmentId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private int stock;
+    private int rented;
+    private int available;
+}
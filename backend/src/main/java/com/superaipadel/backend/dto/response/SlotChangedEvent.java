@@ -0,0 +1,17 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotChangedEvent {
+    private Long facilityId;
+    private Long terrainId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,24 @@
+package com.superaipadel.backend.dto.response;
+
+import com.superaipadel.backend.service.availability.SlotHold;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHoldResponse {
+    private String holdId;
+    private Long terrainId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Instant expiresAt;
+
+    public static SlotHoldResponse from(SlotHold hold) {
+        return new SlotHoldResponse(hold.getId(), hold.getTerrainId(), hold.getStartTime(), hold.getEndTime(), hold.getExpiresAt());
+    }
+}
@@ -0,0 +1,15 @@
+package com.superaipadel.backend.dto.response;
+
+import com.superaipadel.backend.model.TerrainBlackout;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TerrainBlackoutResponse {
+    private TerrainBlackout blackout;
+    private int cancelledReservations;
+    private int refundsQueued;
+}
@@ -0,0 +1,20 @@
+package com.superaipadel.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's balance next to the two totals it must agree with: the sum of their ledger entries and
+ * the remaining tokens of their unexpired packs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenBalanceResponse {
+    private Long userId;
+    private int balance;
+    private long ledgerTotal;
+    private int packTotal;
+    private boolean consistent;
+}
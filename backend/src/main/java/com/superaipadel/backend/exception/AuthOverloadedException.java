@@ -0,0 +1,13 @@
+package com.superaipadel.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class AuthOverloadedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public AuthOverloadedException() {
+        super("Too many sign-in requests, please retry shortly");
+    }
+}
@@ -0,0 +1,13 @@
+package com.superaipadel.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InsufficientTokensException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public InsufficientTokensException() {
+        super("Insufficient tokens available");
+    }
+}
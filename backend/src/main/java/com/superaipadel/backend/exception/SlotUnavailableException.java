@@ -0,0 +1,13 @@
+package com.superaipadel.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SlotUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SlotUnavailableException() {
+        super("The selected time slot is not available");
+    }
+}
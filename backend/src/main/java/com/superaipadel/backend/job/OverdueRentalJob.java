@@ -0,0 +1,61 @@
+package com.superaipadel.backend.job;
+
+import com.superaipadel.backend.dto.projection.RentalSlot;
+import com.superaipadel.backend.repository.EquipmentTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Marks pending rentals whose return date has passed as OVERDUE.
+ *
+ * Rentals are scanned in (return date, id) order one chunk at a time over the
+ * type/status/return date index, and each chunk is marked by a single update in its own
+ * transaction, so memory use and lock time stay flat however many rows there are.
+ */
+@Component
+public class OverdueRentalJob {
+    private static final Logger logger = LoggerFactory.getLogger(OverdueRentalJob.class);
+
+    @Value("${rental.overdue.chunkSize:500}")
+    private int chunkSize;
+
+    @Autowired
+    private EquipmentTransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelayString = "${rental.overdue.initialDelayMs:60000}", fixedDelayString = "${rental.overdue.intervalMs:300000}")
+    public void markOverdueRentals() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        int marked = 0;
+
+        List<RentalSlot> rentals = transactionRepository.findOverdueRentals(now, chunk);
+        while (!rentals.isEmpty()) {
+            List<Long> ids = rentals.stream().map(RentalSlot::getTransactionId).collect(Collectors.toList());
+            Integer updated = transactionTemplate.execute(status -> transactionRepository.markOverdue(ids));
+            marked += updated != null ? updated : 0;
+
+            if (rentals.size() < chunkSize) {
+                break;
+            }
+            RentalSlot last = rentals.get(rentals.size() - 1);
+            rentals = transactionRepository.findOverdueRentalsAfter(now, last.getEndTime(), last.getTransactionId(), chunk);
+        }
+
+        if (marked > 0) {
+            logger.info("Marked {} rentals as overdue", marked);
+        }
+    }
+}
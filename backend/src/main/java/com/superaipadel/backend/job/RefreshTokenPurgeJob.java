@@ -0,0 +1,45 @@
+package com.superaipadel.backend.job;
+
+import com.superaipadel.backend.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+/**
+ * Deletes expired refresh tokens, used or not, one chunk per transaction over the expiry index.
+ */
+@Component
+public class RefreshTokenPurgeJob {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    @Value("${jwt.refreshPurgeChunkSize:1000}")
+    private int chunkSize;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelayString = "${jwt.refreshPurgeInitialDelayMs:300000}", fixedDelayString = "${jwt.refreshPurgeIntervalMs:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        int deleted;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> refreshTokenRepository.deleteExpired(now, chunkSize));
+            deleted = chunk != null ? chunk : 0;
+            purged += deleted;
+        } while (deleted == chunkSize);
+
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+}
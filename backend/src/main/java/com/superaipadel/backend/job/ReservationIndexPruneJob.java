@@ -0,0 +1,28 @@
+package com.superaipadel.backend.job;
+
+import com.superaipadel.backend.service.availability.TerrainIntervalIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the in-memory reservation index to its lookback window, so it does not grow with every
+ * reservation ever made while the application runs.
+ */
+@Component
+public class ReservationIndexPruneJob {
+    private static final Logger logger = LoggerFactory.getLogger(ReservationIndexPruneJob.class);
+
+    @Autowired
+    private TerrainIntervalIndex intervalIndex;
+
+    @Scheduled(initialDelayString = "${reservation.index.pruneIntervalMs:3600000}", fixedDelayString = "${reservation.index.pruneIntervalMs:3600000}")
+    public void prune() {
+        int pruned = intervalIndex.prune();
+        if (pruned > 0) {
+            logger.info("Pruned {} past reservations from the index", pruned);
+        }
+    }
+}
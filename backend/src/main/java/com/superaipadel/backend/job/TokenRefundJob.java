@@ -0,0 +1,124 @@
+package com.superaipadel.backend.job;
+
+import com.superaipadel.backend.model.TokenRefund;
+import com.superaipadel.backend.model.User;
+import com.superaipadel.backend.repository.TokenRefundRepository;
+import com.superaipadel.backend.repository.UserRepository;
+import com.superaipadel.backend.service.UserTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Credits the token refunds queued by bulk cancellations.
+ *
+ * Pending refunds are read one chunk at a time and grouped by user. Each user's share of a chunk is
+ * credited in its own transaction, which also marks those refunds completed, so a refund is never
+ * credited twice and one failing user does not hold back the others. Every refund returns its tokens
+ * to the packs the reservation was paid from, with their original expiry.
+ *
+ * If a user's share fails, its refunds are retried one by one and each one that still fails has the
+ * attempt recorded. A run never reads a refund it already tried again, so a refund that keeps failing
+ * does not hold back the queue behind it. After {@code reservation.refund.maxAttempts} failures the
+ * refund is no longer retried and stays pending for an operator to look at.
+ */
+@Component
+public class TokenRefundJob {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRefundJob.class);
+
+    @Value("${reservation.refund.chunkSize:200}")
+    private int chunkSize;
+
+    @Value("${reservation.refund.maxAttempts:10}")
+    private int maxAttempts;
+
+    @Autowired
+    private TokenRefundRepository refundRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTokenService userTokenService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelayString = "${reservation.refund.initialDelayMs:30000}", fixedDelayString = "${reservation.refund.intervalMs:30000}")
+    public void processRefunds() {
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        LocalDateTime started = LocalDateTime.now();
+        int credited = 0;
+
+        List<TokenRefund> refunds = refundRepository.findPending(started, maxAttempts, chunk);
+        while (!refunds.isEmpty()) {
+            Map<Long, List<TokenRefund>> byUser = refunds.stream()
+                    .collect(Collectors.groupingBy(TokenRefund::getUserId, LinkedHashMap::new, Collectors.toList()));
+            for (Map.Entry<Long, List<TokenRefund>> entry : byUser.entrySet()) {
+                try {
+                    credited += credit(entry.getKey(), entry.getValue());
+                } catch (RuntimeException e) {
+                    credited += creditEach(entry.getKey(), entry.getValue());
+                }
+            }
+
+            if (refunds.size() < chunkSize) {
+                break;
+            }
+            // Refunds that failed in this run now carry a later attempt time and are not read again
+            refunds = refundRepository.findPending(started, maxAttempts, chunk);
+        }
+
+        if (credited > 0) {
+            logger.info("Refunded {} reservations", credited);
+        }
+    }
+
+    // Isolates the refunds that fail from the rest of the user's share
+    private int creditEach(Long userId, List<TokenRefund> refunds) {
+        int credited = 0;
+        for (TokenRefund refund : refunds) {
+            try {
+                credited += credit(userId, List.of(refund));
+            } catch (RuntimeException e) {
+                // Propagates if the attempt cannot be recorded either, ending the run: the refund
+                // would otherwise be read again straight away
+                transactionTemplate.executeWithoutResult(status ->
+                        refundRepository.recordFailure(refund.getId(), LocalDateTime.now()));
+                if (refund.getAttempts() + 1 >= maxAttempts) {
+                    logger.error("Giving up on the token refund of reservation {} after {} attempts: {}",
+                            refund.getReservationId(), maxAttempts, e.getMessage());
+                } else {
+                    logger.warn("Could not refund tokens to user {} for reservation {}: {}",
+                            userId, refund.getReservationId(), e.getMessage());
+                }
+            }
+        }
+        return credited;
+    }
+
+    private int credit(Long userId, List<TokenRefund> refunds) {
+        List<Long> ids = refunds.stream().map(TokenRefund::getId).collect(Collectors.toList());
+        Integer marked = transactionTemplate.execute(status -> {
+            // Another run got to some of them first; roll back and let the next run pick up the rest
+            if (refundRepository.markCompleted(ids, LocalDateTime.now()) != ids.size()) {
+                throw new IllegalStateException("Refunds were processed concurrently");
+            }
+            User user = userRepository.getReferenceById(userId);
+            refunds.forEach(refund -> userTokenService.refundReservation(user, refund.getReservationId()));
+            return ids.size();
+        });
+        return marked != null ? marked : 0;
+    }
+}
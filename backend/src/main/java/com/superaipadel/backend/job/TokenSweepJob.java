@@ -0,0 +1,49 @@
+package com.superaipadel.backend.job;
+
+import com.superaipadel.backend.service.UserTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the live token pack table small.
+ *
+ * First expires the packs of every balance with an expiry due, recording the EXPIRY ledger entries
+ * a user would otherwise only get on their next spend. Then moves used-up and expired packs into
+ * user_token_history. Both passes work one chunk per transaction and skip rows locked by bookings,
+ * so they never wait on, or hold up, a user's spend.
+ */
+@Component
+public class TokenSweepJob {
+    private static final Logger logger = LoggerFactory.getLogger(TokenSweepJob.class);
+
+    @Value("${token.sweep.chunkSize:500}")
+    private int chunkSize;
+
+    @Autowired
+    private UserTokenService userTokenService;
+
+    @Scheduled(initialDelayString = "${token.sweep.initialDelayMs:120000}", fixedDelayString = "${token.sweep.intervalMs:3600000}")
+    public void sweep() {
+        int expired = 0;
+        int processed;
+        do {
+            processed = userTokenService.expireDueBalances(chunkSize);
+            expired += processed;
+        } while (processed == chunkSize);
+
+        // Runs after the expiry pass so the packs it just expired can move too
+        int archived = 0;
+        do {
+            processed = userTokenService.archiveSpentPacks(chunkSize);
+            archived += processed;
+        } while (processed == chunkSize);
+
+        if (expired > 0 || archived > 0) {
+            logger.info("Expired packs for {} balances and archived {} token packs", expired, archived);
+        }
+    }
+}
@@ -9,13 +9,18 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "equipment_transactions")
+@Table(name = "equipment_transactions", indexes = {
+    @Index(name = "idx_equipment_transactions_type_status_return", columnList = "type, status, return_date, id"),
+    @Index(name = "idx_equipment_transactions_equipment_type_status", columnList = "equipment_id, type, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class EquipmentTransaction {
+    // Sequence ids are allocated in blocks so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipment_transactions_seq")
+    @SequenceGenerator(name = "equipment_transactions_seq", sequenceName = "equipment_transactions_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,6 +42,10 @@ public class EquipmentTransaction {
     
     private LocalDateTime transactionDate;
     
+    // Start of the rental window; null for rentals made before rentals were tracked over time
+    private LocalDateTime rentalStartDate;
+    
+    @Column(name = "return_date")
     private LocalDateTime returnDate;
     
     @Enumerated(EnumType.STRING)
@@ -62,6 +71,7 @@ public class EquipmentTransaction {
     
     public enum TransactionStatus {
         PENDING,
+        OVERDUE,
         COMPLETED,
         RETURNED,
         CANCELLED
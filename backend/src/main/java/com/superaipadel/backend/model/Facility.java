@@ -1,6 +1,8 @@
 package com.superaipadel.backend.model;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -42,6 +44,14 @@ public class Facility {
     
     private String openingHours;
     
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+    
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     private User owner;
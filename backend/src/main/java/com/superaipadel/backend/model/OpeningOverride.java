@@ -0,0 +1,40 @@
+package com.superaipadel.backend.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * An exception date replacing the weekly schedule of a facility for one day, such as a holiday or a
+ * maintenance closure. Without open and close times the facility is closed all day.
+ */
+@Entity
+@Table(name = "facility_opening_overrides", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_facility_opening_overrides_facility_date", columnNames = {"facility_id", "override_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningOverride {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "facility_id", nullable = false)
+    private Long facilityId;
+    
+    @Column(name = "override_date", nullable = false)
+    private LocalDate date;
+    
+    private LocalTime openTime;
+    
+    private LocalTime closeTime;
+    
+    @Size(max = 200)
+    private String reason;
+}
@@ -0,0 +1,39 @@
+package com.superaipadel.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * One weekly opening range of a facility. A close time at or before the open time runs past midnight
+ * into the next day; a facility without any period is open around the clock.
+ */
+@Entity
+@Table(name = "facility_opening_periods", indexes = {
+    @Index(name = "idx_facility_opening_periods_facility_id", columnList = "facility_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningPeriod {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "facility_id", nullable = false)
+    private Long facilityId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DayOfWeek dayOfWeek;
+    
+    @Column(nullable = false)
+    private LocalTime openTime;
+    
+    @Column(nullable = false)
+    private LocalTime closeTime;
+}
@@ -0,0 +1,59 @@
+package com.superaipadel.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+/**
+ * An hourly rate applying to a facility, or to one of its terrains, on some weekdays between two
+ * times. Terrain rules override facility rules, and within a scope higher priorities override lower
+ * ones; minutes no rule covers are charged at the terrain's own rate.
+ */
+@Entity
+@Table(name = "pricing_rules", indexes = {
+    @Index(name = "idx_pricing_rules_facility_id", columnList = "facility_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "facility_id", nullable = false)
+    private Long facilityId;
+    
+    // Null for a rule covering every terrain of the facility
+    @Column(name = "terrain_id")
+    private Long terrainId;
+    
+    // Bit 0 is Monday, bit 6 is Sunday
+    @Column(nullable = false)
+    private Integer dayMask;
+    
+    @Column(nullable = false)
+    private LocalTime startTime;
+    
+    // Midnight as the end time means the end of the day
+    @Column(nullable = false)
+    private LocalTime endTime;
+    
+    @Column(nullable = false)
+    private BigDecimal pricePerHour;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Audience audience;
+    
+    private int priority;
+    
+    public enum Audience {
+        ALL,
+        MEMBERS
+    }
+}
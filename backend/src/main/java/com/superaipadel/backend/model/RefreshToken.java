@@ -3,23 +3,47 @@ package com.superaipadel.backend.model;
 import jakarta.persistence.*;
 import java.time.Instant;
 
+/**
+ * One refresh token of a session. Each signin starts a new family; every refresh marks the
+ * presented token used and issues its successor in the same family. Only a SHA-256 hash of the
+ * token is stored.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "user_refresh_tokens", indexes = {
+    @Index(name = "idx_user_refresh_tokens_user_id", columnList = "user_id"),
+    @Index(name = "idx_user_refresh_tokens_family_id", columnList = "family_id"),
+    @Index(name = "idx_user_refresh_tokens_expiry_date", columnList = "expiry_date")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_refresh_tokens_token_hash", columnNames = "token_hash")
+})
 public class RefreshToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne
-    @JoinColumn(name = "user_id", referencedColumnName = "id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
 
-    @Column(nullable = false)
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
 
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Set once the token has been exchanged; presenting it again means it was stolen
+    private Instant usedAt;
+
+    // The raw token, only known on the instance that issued it
+    @Transient
+    private String token;
+
     public RefreshToken() {
     }
 
@@ -39,12 +63,20 @@ public class RefreshToken {
         this.user = user;
     }
 
-    public String getToken() {
-        return token;
+    public String getFamilyId() {
+        return familyId;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setFamilyId(String familyId) {
+        this.familyId = familyId;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public Instant getExpiryDate() {
@@ -54,4 +86,28 @@ public class RefreshToken {
     public void setExpiryDate(Instant expiryDate) {
         this.expiryDate = expiryDate;
     }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUsedAt() {
+        return usedAt;
+    }
+
+    public void setUsedAt(Instant usedAt) {
+        this.usedAt = usedAt;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
 }
@@ -1,5 +1,6 @@
 package com.superaipadel.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,16 +10,21 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+    @Index(name = "idx_reservations_start_time_id", columnList = "start_time, id"),
+    @Index(name = "idx_reservations_terrain_start_time", columnList = "terrain_id, start_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Reservation {
+    // Sequence ids are allocated in blocks so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
     
-    @Column(nullable = false)
+    @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
     
     @Column(nullable = false)
@@ -27,6 +33,10 @@ public class Reservation {
     @Column(nullable = false)
     private BigDecimal price;
     
+    // Tokens debited for this booking; refunded when it is cancelled
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer tokensPaid;
+    
     @Enumerated(EnumType.STRING)
     private ReservationStatus status;
     
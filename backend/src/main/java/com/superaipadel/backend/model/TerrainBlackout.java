@@ -0,0 +1,41 @@
+package com.superaipadel.backend.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A window during which a terrain cannot be booked, such as maintenance or flooding. Declaring one
+ * cancels the reservations it overlaps.
+ */
+@Entity
+@Table(name = "terrain_blackouts", indexes = {
+    @Index(name = "idx_terrain_blackouts_terrain_start_time", columnList = "terrain_id, start_time")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TerrainBlackout {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "terrain_id", nullable = false)
+    private Long terrainId;
+    
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+    
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+    
+    @Size(max = 200)
+    private String reason;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
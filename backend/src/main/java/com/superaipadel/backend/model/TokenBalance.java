@@ -0,0 +1,34 @@
+package com.superaipadel.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running total of a user's spendable tokens. Every change to it is made under a row lock and
+ * recorded in the {@link TokenLedgerEntry} ledger.
+ */
+@Entity
+@Table(name = "token_balances", indexes = {
+    @Index(name = "idx_token_balances_next_expiry_at", columnList = "next_expiry_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenBalance {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Integer balance;
+    
+    // Earliest expiry among the packs still counted in the balance
+    @Column(name = "next_expiry_at")
+    private LocalDateTime nextExpiryAt;
+    
+    private LocalDateTime updatedAt;
+}
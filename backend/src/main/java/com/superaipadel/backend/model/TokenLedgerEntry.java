@@ -0,0 +1,69 @@
+package com.superaipadel.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One append-only movement of a user's tokens. The deltas of a user add up to their balance, and
+ * the deltas of one pack add up to its remaining tokens until the pack expires.
+ */
+@Entity
+@Table(name = "token_ledger", indexes = {
+    @Index(name = "idx_token_ledger_user_id", columnList = "user_id, id"),
+    @Index(name = "idx_token_ledger_reservation_id", columnList = "reservation_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    // Plain ids rather than associations: entries outlive deleted packs
+    @Column(name = "user_token_id")
+    private Long userTokenId;
+    
+    // The booking paid for or refunded, on the entries of token-paid reservations
+    @Column(name = "reservation_id")
+    private Long reservationId;
+    
+    @Column(nullable = false)
+    private Integer delta;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EntryType type;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    public TokenLedgerEntry(Long userId, Long userTokenId, Integer delta, EntryType type) {
+        this(userId, userTokenId, delta, type, null);
+    }
+    
+    public TokenLedgerEntry(Long userId, Long userTokenId, Integer delta, EntryType type, Long reservationId) {
+        this.userId = userId;
+        this.userTokenId = userTokenId;
+        this.delta = delta;
+        this.type = type;
+        this.reservationId = reservationId;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public enum EntryType {
+        OPENING,
+        PURCHASE,
+        SPEND,
+        EXPIRY,
+        REFUND,
+        ADJUSTMENT
+    }
+}
@@ -0,0 +1,58 @@
+package com.superaipadel.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tokens owed back to a user for a reservation cancelled in bulk, credited later by the refund job.
+ */
+@Entity
+@Table(name = "token_refunds", indexes = {
+    @Index(name = "idx_token_refunds_status_id", columnList = "status, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_token_refunds_reservation_id", columnNames = "reservation_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRefund {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Integer tokens;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RefundStatus status;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime processedAt;
+    
+    // Failed credits so far; the job stops retrying a refund once it reaches reservation.refund.maxAttempts
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "last_attempt_at")
+    private LocalDateTime lastAttemptAt;
+    
+    public enum RefundStatus {
+        PENDING,
+        COMPLETED
+    }
+}
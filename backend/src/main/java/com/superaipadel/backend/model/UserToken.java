@@ -9,7 +9,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_tokens")
+@Table(name = "user_tokens", indexes = {
+    @Index(name = "idx_user_tokens_user_expiry", columnList = "user_id, expiry_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,11 +34,15 @@ public class UserToken {
     
     private LocalDateTime purchaseDate;
     
+    @Column(name = "expiry_date")
     private LocalDateTime expiryDate;
     
     @PrePersist
     protected void onCreate() {
         purchaseDate = LocalDateTime.now();
-        tokensRemaining = tokenPack != null ? tokenPack.getTokenCount() : 0;
+        // Refund packs have no token pack and arrive with their count already set
+        if (tokensRemaining == null) {
+            tokensRemaining = tokenPack != null ? tokenPack.getTokenCount() : 0;
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.superaipadel.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A token pack moved out of {@code user_tokens} by the sweeper once it was used up or expired.
+ * Keeps the pack's original id, so ledger entries still point at it.
+ */
+@Entity
+@Table(name = "user_token_history", indexes = {
+    @Index(name = "idx_user_token_history_user_id", columnList = "user_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokenHistory {
+    @Id
+    private Long id;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "token_pack_id")
+    private Long tokenPackId;
+    
+    // Tokens forfeited when the pack expired; zero for a used-up pack
+    private Integer tokensRemaining;
+    
+    private BigDecimal purchaseAmount;
+    
+    private LocalDateTime purchaseDate;
+    
+    private LocalDateTime expiryDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ArchiveReason reason;
+    
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+    
+    public enum ArchiveReason {
+        EXHAUSTED,
+        EXPIRED
+    }
+}
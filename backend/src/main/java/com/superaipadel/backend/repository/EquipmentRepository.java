@@ -3,9 +3,12 @@ package com.superaipadel.backend.repository;
 import com.superaipadel.backend.model.Equipment;
 import com.superaipadel.backend.model.Facility;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
@@ -13,4 +16,16 @@ public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
     List<Equipment> findByFacilityAndType(Facility facility, Equipment.EquipmentType type);
     List<Equipment> findByFacilityAndAvailableForPurchase(Facility facility, boolean availableForPurchase);
     List<Equipment> findByFacilityAndAvailableForRental(Facility facility, boolean availableForRental);
+    
+    @Query(value = "SELECT stock_quantity FROM equipment WHERE id = ?1 FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockStockQuantity(Long id);
+    
+    // The affected-row count tells whether there was enough stock
+    @Modifying
+    @Query("UPDATE Equipment e SET e.stockQuantity = e.stockQuantity - ?2 WHERE e.id = ?1 AND e.stockQuantity >= ?2")
+    int decrementStock(Long id, int quantity);
+    
+    @Modifying
+    @Query("UPDATE Equipment e SET e.stockQuantity = e.stockQuantity + ?2 WHERE e.id = ?1")
+    int incrementStock(Long id, int quantity);
 }
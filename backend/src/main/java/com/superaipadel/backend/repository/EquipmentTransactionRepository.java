@@ -1,17 +1,28 @@
 package com.superaipadel.backend.repository;
 
+import com.superaipadel.backend.dto.projection.EquipmentTransactionSummary;
+import com.superaipadel.backend.dto.projection.RentalSlot;
 import com.superaipadel.backend.model.Equipment;
 import com.superaipadel.backend.model.EquipmentTransaction;
 import com.superaipadel.backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EquipmentTransactionRepository extends JpaRepository<EquipmentTransaction, Long> {
+    String SUMMARY_SELECT = "SELECT new com.superaipadel.backend.dto.projection.EquipmentTransactionSummary(" +
+            "et.id, e.id, e.name, u.id, u.username, et.type, et.quantity, et.unitPrice, et.totalAmount, " +
+            "et.transactionDate, et.rentalStartDate, et.returnDate, et.status, et.notes) " +
+            "FROM EquipmentTransaction et LEFT JOIN et.equipment e LEFT JOIN et.user u ";
+    
     List<EquipmentTransaction> findByUser(User user);
     List<EquipmentTransaction> findByEquipment(Equipment equipment);
     List<EquipmentTransaction> findByUserAndType(User user, EquipmentTransaction.TransactionType type);
@@ -25,4 +36,48 @@ public interface EquipmentTransactionRepository extends JpaRepository<EquipmentT
     
     @Query("SELECT et FROM EquipmentTransaction et WHERE et.type = 'RENTAL' AND et.status != 'RETURNED' AND et.user = ?1")
     List<EquipmentTransaction> findActiveRentalsByUser(User user);
+    
+    @Query("SELECT new com.superaipadel.backend.dto.projection.RentalSlot(et.id, et.equipment.id, et.quantity, et.rentalStartDate, et.returnDate) " +
+           "FROM EquipmentTransaction et WHERE et.type = 'RENTAL' AND et.status IN ('PENDING', 'OVERDUE') AND et.rentalStartDate IS NOT NULL")
+    List<RentalSlot> findPendingRentalSlots();
+    
+    @Query("SELECT new com.superaipadel.backend.dto.projection.RentalSlot(et.id, et.equipment.id, et.quantity, et.rentalStartDate, et.returnDate) " +
+           "FROM EquipmentTransaction et WHERE et.equipment.id = ?1 AND et.type = 'RENTAL' AND et.status IN ('PENDING', 'OVERDUE') " +
+           "AND et.rentalStartDate IS NOT NULL")
+    List<RentalSlot> findPendingRentalSlotsByEquipmentId(Long equipmentId);
+    
+    @Query("SELECT new com.superaipadel.backend.dto.projection.RentalSlot(et.id, et.equipment.id, et.quantity, et.rentalStartDate, et.returnDate) " +
+           "FROM EquipmentTransaction et WHERE et.type = 'RENTAL' AND et.status = 'PENDING' AND et.returnDate < ?1 " +
+           "AND (et.returnDate > ?2 OR (et.returnDate = ?2 AND et.id > ?3)) ORDER BY et.returnDate, et.id")
+    List<RentalSlot> findOverdueRentalsAfter(LocalDateTime now, LocalDateTime afterReturnDate, Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.superaipadel.backend.dto.projection.RentalSlot(et.id, et.equipment.id, et.quantity, et.rentalStartDate, et.returnDate) " +
+           "FROM EquipmentTransaction et WHERE et.type = 'RENTAL' AND et.status = 'PENDING' AND et.returnDate < ?1 " +
+           "ORDER BY et.returnDate, et.id")
+    List<RentalSlot> findOverdueRentals(LocalDateTime now, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE EquipmentTransaction et SET et.status = 'OVERDUE' WHERE et.id IN ?1 AND et.status = 'PENDING'")
+    int markOverdue(Collection<Long> ids);
+    
+    @Query(SUMMARY_SELECT + "WHERE e.facility.id = ?1 AND et.type = 'RENTAL' AND et.status IN ('PENDING', 'OVERDUE') AND et.returnDate < ?2 " +
+           "ORDER BY et.returnDate, et.id")
+    List<EquipmentTransactionSummary> findOverdueSummariesByFacilityId(Long facilityId, LocalDateTime now, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE e.facility.id = ?1 AND et.type = 'RENTAL' AND et.status IN ('PENDING', 'OVERDUE') AND et.returnDate < ?2 " +
+           "AND (et.returnDate > ?3 OR (et.returnDate = ?3 AND et.id > ?4)) ORDER BY et.returnDate, et.id")
+    List<EquipmentTransactionSummary> findOverdueSummariesByFacilityIdAfter(Long facilityId, LocalDateTime now,
+                                                                            LocalDateTime afterReturnDate, Long afterId, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE et.id = ?1")
+    Optional<EquipmentTransactionSummary> findSummaryById(Long id);
+    
+    @Query(SUMMARY_SELECT + "WHERE u.id = ?1 ORDER BY et.transactionDate DESC, et.id DESC")
+    List<EquipmentTransactionSummary> findSummariesByUserId(Long userId);
+    
+    @Query(SUMMARY_SELECT + "WHERE et.type = 'RENTAL' AND et.status != 'RETURNED' AND u.id = ?1 ORDER BY et.transactionDate DESC, et.id DESC")
+    List<EquipmentTransactionSummary> findActiveRentalSummariesByUserId(Long userId);
+    
+    @Query(SUMMARY_SELECT + "WHERE e.facility.id = ?1 ORDER BY et.transactionDate DESC, et.id DESC")
+    List<EquipmentTransactionSummary> findSummariesByFacilityId(Long facilityId);
 }
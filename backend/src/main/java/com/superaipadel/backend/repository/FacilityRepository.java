@@ -1,14 +1,40 @@
 package com.superaipadel.backend.repository;
 
+import com.superaipadel.backend.dto.projection.FacilitySummary;
 import com.superaipadel.backend.model.Facility;
 import com.superaipadel.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FacilityRepository extends JpaRepository<Facility, Long> {
+    String SUMMARY_SELECT = "SELECT new com.superaipadel.backend.dto.projection.FacilitySummary(" +
+            "f.id, f.name, f.address, f.city, f.description, f.imageUrl, f.contactPhone, f.contactEmail, " +
+            "f.openingHours, f.latitude, f.longitude, f.owner.id) FROM Facility f ";
+    
     List<Facility> findByOwner(User owner);
     List<Facility> findByCity(String city);
+    
+    @Query(SUMMARY_SELECT + "WHERE f.id = ?1")
+    Optional<FacilitySummary> findSummaryById(Long id);
+    
+    @Query(SUMMARY_SELECT + "ORDER BY f.id")
+    List<FacilitySummary> findAllSummaries();
+    
+    @Query(SUMMARY_SELECT + "WHERE f.city = ?1 ORDER BY f.id")
+    List<FacilitySummary> findSummariesByCity(String city);
+    
+    @Query(SUMMARY_SELECT + "WHERE f.owner.id = ?1 ORDER BY f.id")
+    List<FacilitySummary> findSummariesByOwnerId(Long ownerId);
+    
+    @Query(SUMMARY_SELECT + "WHERE f.id IN ?1")
+    List<FacilitySummary> findSummariesByIdIn(Collection<Long> ids);
+    
+    @Query(SUMMARY_SELECT + "WHERE f.latitude IS NOT NULL AND f.longitude IS NOT NULL")
+    List<FacilitySummary> findSummariesWithLocation();
 }
@@ -0,0 +1,19 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.OpeningOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OpeningOverrideRepository extends JpaRepository<OpeningOverride, Long> {
+    @Query("SELECT o FROM OpeningOverride o WHERE o.facilityId = ?1 ORDER BY o.date")
+    List<OpeningOverride> findByFacilityId(Long facilityId);
+    
+    @Modifying
+    @Query("DELETE FROM OpeningOverride o WHERE o.facilityId = ?1")
+    int deleteByFacilityId(Long facilityId);
+}
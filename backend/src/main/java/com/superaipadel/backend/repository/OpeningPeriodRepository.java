@@ -0,0 +1,19 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.OpeningPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OpeningPeriodRepository extends JpaRepository<OpeningPeriod, Long> {
+    @Query("SELECT p FROM OpeningPeriod p WHERE p.facilityId = ?1 ORDER BY p.dayOfWeek, p.openTime")
+    List<OpeningPeriod> findByFacilityId(Long facilityId);
+    
+    @Modifying
+    @Query("DELETE FROM OpeningPeriod p WHERE p.facilityId = ?1")
+    int deleteByFacilityId(Long facilityId);
+}
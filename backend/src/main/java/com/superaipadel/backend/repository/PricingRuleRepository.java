@@ -0,0 +1,14 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.PricingRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PricingRuleRepository extends JpaRepository<PricingRule, Long> {
+    @Query("SELECT r FROM PricingRule r WHERE r.facilityId = ?1 ORDER BY r.terrainId NULLS FIRST, r.priority, r.id")
+    List<PricingRule> findByFacilityId(Long facilityId);
+}
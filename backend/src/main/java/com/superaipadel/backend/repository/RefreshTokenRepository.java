@@ -1,17 +1,29 @@
 package com.superaipadel.backend.repository;
 
 import com.superaipadel.backend.model.RefreshToken;
-import com.superaipadel.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
+    // Succeeds for exactly one caller, however many present the same token at once
     @Modifying
-    int deleteByUser(User user);
+    @Query("UPDATE RefreshToken t SET t.usedAt = ?2 WHERE t.id = ?1 AND t.usedAt IS NULL")
+    int markUsed(Long id, Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.familyId = ?1")
+    int deleteByFamilyId(String familyId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_refresh_tokens WHERE id IN (" +
+                   "SELECT id FROM user_refresh_tokens WHERE expiry_date < ?1 ORDER BY id LIMIT ?2)", nativeQuery = true)
+    int deleteExpired(Instant now, int limit);
 }
@@ -1,28 +1,76 @@
 package com.superaipadel.backend.repository;
 
+import com.superaipadel.backend.dto.projection.ReservationSlot;
+import com.superaipadel.backend.dto.projection.ReservationSummary;
 import com.superaipadel.backend.model.Reservation;
 import com.superaipadel.backend.model.Terrain;
 import com.superaipadel.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
+    String SUMMARY_SELECT = "SELECT new com.superaipadel.backend.dto.projection.ReservationSummary(" +
+            "r.id, r.startTime, r.endTime, r.price, r.status, r.notes, r.createdAt, r.cancelledAt, " +
+            "u.id, u.username, t.id, t.name, f.id, f.name) " +
+            "FROM Reservation r LEFT JOIN r.user u JOIN r.terrain t LEFT JOIN t.facility f ";
+    
     List<Reservation> findByUser(User user);
     List<Reservation> findByTerrain(Terrain terrain);
     List<Reservation> findByTerrainAndStatus(Terrain terrain, Reservation.ReservationStatus status);
     List<Reservation> findByUserAndStatus(User user, Reservation.ReservationStatus status);
     
-    @Query("SELECT r FROM Reservation r WHERE r.terrain = ?1 AND r.status != 'CANCELLED' AND ((r.startTime <= ?3 AND r.endTime >= ?2) OR (r.startTime >= ?2 AND r.startTime < ?3))")
+    @Query("SELECT r FROM Reservation r WHERE r.terrain = ?1 AND r.status != 'CANCELLED' AND r.startTime < ?3 AND r.endTime > ?2")
     List<Reservation> findOverlappingReservations(Terrain terrain, LocalDateTime start, LocalDateTime end);
     
+    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.terrain = ?1 AND r.status != 'CANCELLED' AND r.startTime < ?3 AND r.endTime > ?2")
+    boolean existsOverlappingReservation(Terrain terrain, LocalDateTime start, LocalDateTime end);
+    
+    @Query("SELECT new com.superaipadel.backend.dto.projection.ReservationSlot(r.id, r.terrain.id, r.startTime, r.endTime) " +
+           "FROM Reservation r WHERE r.status != 'CANCELLED' AND r.endTime > ?1")
+    List<ReservationSlot> findActiveSlotsEndingAfter(LocalDateTime since);
+    
+    @Query("SELECT new com.superaipadel.backend.dto.projection.ReservationSlot(r.id, r.terrain.id, r.startTime, r.endTime) " +
+           "FROM Reservation r WHERE r.terrain.facility.id = ?1 AND r.status != 'CANCELLED' AND r.startTime < ?3 AND r.endTime > ?2")
+    List<ReservationSlot> findSlotsByFacilityAndRange(Long facilityId, LocalDateTime from, LocalDateTime to);
+    
+    @Query("SELECT new com.superaipadel.backend.dto.projection.ReservationSlot(r.id, r.terrain.id, r.startTime, r.endTime) " +
+           "FROM Reservation r WHERE r.terrain.facility.id IN ?1 AND r.status != 'CANCELLED' AND r.startTime < ?3 AND r.endTime > ?2")
+    List<ReservationSlot> findSlotsByFacilitiesAndRange(Collection<Long> facilityIds, LocalDateTime from, LocalDateTime to);
+    
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'CANCELLED', r.cancelledAt = ?2 WHERE r.id IN ?1 AND r.status != 'CANCELLED'")
+    int cancelByIds(Collection<Long> ids, LocalDateTime now);
+    
+    @Query("SELECT new com.superaipadel.backend.dto.projection.ReservationSlot(r.id, r.terrain.id, r.startTime, r.endTime) " +
+           "FROM Reservation r WHERE r.terrain.id = ?1 AND r.status != 'CANCELLED' AND r.startTime < ?3 AND r.endTime > ?2")
+    List<ReservationSlot> findSlotsByTerrainAndRange(Long terrainId, LocalDateTime from, LocalDateTime to);
+    
+    // Bookings that can still be called off: pending or confirmed, and not yet over
+    @Query("SELECT new com.superaipadel.backend.dto.projection.ReservationSlot(r.id, r.terrain.id, r.startTime, r.endTime) " +
+           "FROM Reservation r WHERE r.terrain.id = ?1 AND r.status IN ('PENDING', 'CONFIRMED') " +
+           "AND r.startTime < ?3 AND r.endTime > ?2 AND r.endTime > ?4")
+    List<ReservationSlot> findCancellableSlotsByTerrainAndRange(Long terrainId, LocalDateTime from, LocalDateTime to, LocalDateTime now);
+    
     @Query("SELECT r FROM Reservation r WHERE r.terrain.facility.id = ?1")
     List<Reservation> findByFacilityId(Long facilityId);
     
     @Query("SELECT r FROM Reservation r WHERE r.terrain.facility.owner.id = ?1")
     List<Reservation> findByFacilityOwnerId(Long ownerId);
+    
+    @Query(SUMMARY_SELECT + "WHERE r.id = ?1")
+    Optional<ReservationSummary> findSummaryById(Long id);
+    
+    @Query(SUMMARY_SELECT + "WHERE u.id = ?1 ORDER BY r.startTime DESC, r.id DESC")
+    List<ReservationSummary> findSummariesByUserId(Long userId);
+    
+    @Query(SUMMARY_SELECT + "WHERE t.id = ?1 ORDER BY r.startTime, r.id")
+    List<ReservationSummary> findSummariesByTerrainId(Long terrainId);
 }
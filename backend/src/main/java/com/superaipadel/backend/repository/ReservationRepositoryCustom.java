@@ -0,0 +1,22 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.dto.projection.ReservationSummary;
+import com.superaipadel.backend.dto.request.ReservationFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ReservationRepositoryCustom {
+    /**
+     * Returns up to {@code limit} reservations ordered by (startTime, id), strictly after the given key.
+     * A null {@code afterStart} starts from the beginning.
+     */
+    List<ReservationSummary> findPage(ReservationFilter filter, LocalDateTime afterStart, Long afterId, int limit);
+
+    /**
+     * Streams every matching reservation in (startTime, id) order from a server-side cursor.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<ReservationSummary> streamAll(ReservationFilter filter);
+}
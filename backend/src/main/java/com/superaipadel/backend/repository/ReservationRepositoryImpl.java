@@ -0,0 +1,83 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.dto.projection.ReservationSummary;
+import com.superaipadel.backend.dto.request.ReservationFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class ReservationRepositoryImpl implements ReservationRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String SELECT_SUMMARY = ReservationRepository.SUMMARY_SELECT + "WHERE 1 = 1";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReservationSummary> findPage(ReservationFilter filter, LocalDateTime afterStart, Long afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(SELECT_SUMMARY);
+        appendFilter(jpql, params, filter);
+        if (afterStart != null) {
+            jpql.append(" AND (r.startTime > :afterStart OR (r.startTime = :afterStart AND r.id > :afterId))");
+            params.put("afterStart", afterStart);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY r.startTime, r.id");
+
+        TypedQuery<ReservationSummary> query = createQuery(jpql.toString(), params);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<ReservationSummary> streamAll(ReservationFilter filter) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(SELECT_SUMMARY);
+        appendFilter(jpql, params, filter);
+        jpql.append(" ORDER BY r.startTime, r.id");
+
+        TypedQuery<ReservationSummary> query = createQuery(jpql.toString(), params);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
+
+    private static void appendFilter(StringBuilder jpql, Map<String, Object> params, ReservationFilter filter) {
+        if (filter.getFacilityId() != null) {
+            jpql.append(" AND f.id = :facilityId");
+            params.put("facilityId", filter.getFacilityId());
+        }
+        if (filter.getTerrainId() != null) {
+            jpql.append(" AND t.id = :terrainId");
+            params.put("terrainId", filter.getTerrainId());
+        }
+        if (filter.getStatus() != null) {
+            jpql.append(" AND r.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" AND r.startTime >= :from");
+            params.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" AND r.startTime < :to");
+            params.put("to", filter.getTo());
+        }
+    }
+
+    private TypedQuery<ReservationSummary> createQuery(String jpql, Map<String, Object> params) {
+        TypedQuery<ReservationSummary> query = entityManager.createQuery(jpql, ReservationSummary.class);
+        params.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -0,0 +1,14 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.TerrainBlackout;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TerrainBlackoutRepository extends JpaRepository<TerrainBlackout, Long> {
+    @Query("SELECT b FROM TerrainBlackout b WHERE b.terrainId = ?1 ORDER BY b.startTime, b.id")
+    List<TerrainBlackout> findByTerrainId(Long terrainId);
+}
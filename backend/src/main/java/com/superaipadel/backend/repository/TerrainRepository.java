@@ -1,15 +1,47 @@
 package com.superaipadel.backend.repository;
 
+import com.superaipadel.backend.dto.projection.TerrainSummary;
 import com.superaipadel.backend.model.Facility;
 import com.superaipadel.backend.model.Terrain;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TerrainRepository extends JpaRepository<Terrain, Long> {
+    String SUMMARY_SELECT = "SELECT new com.superaipadel.backend.dto.projection.TerrainSummary(" +
+            "t.id, t.name, t.description, t.imageUrl, t.pricePerHour, t.indoor, t.type, t.active, f.id, f.name) " +
+            "FROM Terrain t LEFT JOIN t.facility f ";
+    
     List<Terrain> findByFacility(Facility facility);
     List<Terrain> findByFacilityAndActive(Facility facility, boolean active);
     List<Terrain> findByActive(boolean active);
+    
+    @Query(SUMMARY_SELECT + "WHERE t.id = ?1")
+    Optional<TerrainSummary> findSummaryById(Long id);
+    
+    @Query(SUMMARY_SELECT + "ORDER BY t.id")
+    List<TerrainSummary> findAllSummaries();
+    
+    @Query(SUMMARY_SELECT + "WHERE t.active = ?1 ORDER BY t.id")
+    List<TerrainSummary> findSummariesByActive(boolean active);
+    
+    @Query(SUMMARY_SELECT + "WHERE f.id = ?1 ORDER BY t.id")
+    List<TerrainSummary> findSummariesByFacilityId(Long facilityId);
+    
+    @Query(SUMMARY_SELECT + "WHERE f.id = ?1 AND t.active = ?2 ORDER BY t.id")
+    List<TerrainSummary> findSummariesByFacilityIdAndActive(Long facilityId, boolean active);
+    
+    @Query(SUMMARY_SELECT + "WHERE f.city = ?1 AND t.active = true ORDER BY t.id")
+    List<TerrainSummary> findActiveSummariesByCity(String city);
+    
+    @Query(SUMMARY_SELECT + "WHERE f.id IN ?1 AND t.active = true ORDER BY t.id")
+    List<TerrainSummary> findActiveSummariesByFacilityIdIn(Collection<Long> facilityIds);
+    
+    @Query("SELECT t.facility.id FROM Terrain t WHERE t.id = ?1")
+    Optional<Long> findFacilityIdById(Long id);
 }
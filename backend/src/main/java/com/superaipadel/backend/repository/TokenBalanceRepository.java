@@ -0,0 +1,52 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.TokenBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TokenBalanceRepository extends JpaRepository<TokenBalance, Long> {
+    // Constructor expression: the result is a detached snapshot, so a later locking read is not
+    // answered from a stale managed instance
+    @Query("SELECT new com.superaipadel.backend.model.TokenBalance(b.userId, b.balance, b.nextExpiryAt, b.updatedAt) " +
+           "FROM TokenBalance b WHERE b.userId = ?1")
+    Optional<TokenBalance> findSnapshotByUserId(Long userId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM TokenBalance b WHERE b.userId = ?1")
+    Optional<TokenBalance> findByUserIdForUpdate(Long userId);
+    
+    // Balances with a pack due to expire; rows held by a spend or purchase are skipped, not waited on
+    @Query(value = "SELECT * FROM token_balances WHERE next_expiry_at <= ?1 ORDER BY user_id LIMIT ?2 " +
+                   "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TokenBalance> lockExpiryDue(LocalDateTime now, int limit);
+    
+    /**
+     * Creates the user's balance from their current packs and records one opening ledger entry per
+     * pack, in a single statement. Does nothing if the balance already exists.
+     */
+    @Modifying
+    @Query(value = "WITH opened AS (" +
+            "INSERT INTO token_balances (user_id, balance, next_expiry_at, updated_at) " +
+            "SELECT u.id, " +
+            "COALESCE(SUM(ut.tokens_remaining) FILTER (WHERE ut.tokens_remaining > 0 " +
+            "AND (ut.expiry_date IS NULL OR ut.expiry_date > LOCALTIMESTAMP)), 0), " +
+            "MIN(ut.expiry_date) FILTER (WHERE ut.tokens_remaining > 0 AND ut.expiry_date > LOCALTIMESTAMP), " +
+            "LOCALTIMESTAMP " +
+            "FROM users u LEFT JOIN user_tokens ut ON ut.user_id = u.id WHERE u.id = ?1 GROUP BY u.id " +
+            "ON CONFLICT (user_id) DO NOTHING RETURNING user_id) " +
+            "INSERT INTO token_ledger (user_id, user_token_id, delta, type, created_at) " +
+            "SELECT ut.user_id, ut.id, ut.tokens_remaining, 'OPENING', LOCALTIMESTAMP " +
+            "FROM user_tokens ut JOIN opened o ON o.user_id = ut.user_id " +
+            "WHERE ut.tokens_remaining > 0 AND (ut.expiry_date IS NULL OR ut.expiry_date > LOCALTIMESTAMP)",
+            nativeQuery = true)
+    int open(Long userId);
+}
@@ -0,0 +1,16 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.TokenLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TokenLedgerRepository extends JpaRepository<TokenLedgerEntry, Long> {
+    @Query("SELECT COALESCE(SUM(e.delta), 0) FROM TokenLedgerEntry e WHERE e.userId = ?1")
+    long sumDeltasByUserId(Long userId);
+    
+    List<TokenLedgerEntry> findByReservationIdAndType(Long reservationId, TokenLedgerEntry.EntryType type);
+}
@@ -0,0 +1,48 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.TokenRefund;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TokenRefundRepository extends JpaRepository<TokenRefund, Long> {
+    /**
+     * Queues one refund per token-paid reservation among the given ones, in a single statement.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO token_refunds (reservation_id, user_id, tokens, status, created_at) " +
+                   "SELECT r.id, r.user_id, r.tokens_paid, 'PENDING', ?2 FROM reservations r " +
+                   "WHERE r.id IN ?1 AND r.tokens_paid > 0 AND r.user_id IS NOT NULL " +
+                   "ON CONFLICT (reservation_id) DO NOTHING", nativeQuery = true)
+    int queueForReservations(Collection<Long> reservationIds, LocalDateTime now);
+    
+    /**
+     * Records a refund paid on the spot. Returns 0 when the reservation was already refunded or queued.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO token_refunds (reservation_id, user_id, tokens, status, created_at, processed_at) " +
+                   "SELECT r.id, r.user_id, r.tokens_paid, 'COMPLETED', ?2, ?2 FROM reservations r " +
+                   "WHERE r.id = ?1 AND r.tokens_paid > 0 AND r.user_id IS NOT NULL " +
+                   "ON CONFLICT (reservation_id) DO NOTHING", nativeQuery = true)
+    int recordImmediateRefund(Long reservationId, LocalDateTime now);
+    
+    // Refunds that already failed since the given time, or too often, are left out
+    @Query("SELECT r FROM TokenRefund r WHERE r.status = 'PENDING' AND r.attempts < ?2 " +
+           "AND (r.lastAttemptAt IS NULL OR r.lastAttemptAt < ?1) ORDER BY r.id")
+    List<TokenRefund> findPending(LocalDateTime notAttemptedSince, int maxAttempts, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE TokenRefund r SET r.status = 'COMPLETED', r.processedAt = ?2 WHERE r.id IN ?1 AND r.status = 'PENDING'")
+    int markCompleted(Collection<Long> ids, LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE TokenRefund r SET r.attempts = r.attempts + 1, r.lastAttemptAt = ?2 WHERE r.id = ?1 AND r.status = 'PENDING'")
+    int recordFailure(Long id, LocalDateTime now);
+}
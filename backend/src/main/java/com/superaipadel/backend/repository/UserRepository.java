@@ -1,15 +1,24 @@
 package com.superaipadel.backend.repository;
 
+import com.superaipadel.backend.model.Role;
 import com.superaipadel.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+    
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id = ?1")
+    Optional<User> findWithRolesById(Long id);
+    
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE EXISTS (SELECT 1 FROM u.roles r WHERE r.name = ?1) ORDER BY u.id")
+    List<User> findByRoleWithRoles(Role.ERole role);
 }
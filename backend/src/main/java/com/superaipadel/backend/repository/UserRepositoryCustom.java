@@ -0,0 +1,15 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.Role;
+import com.superaipadel.backend.model.User;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+    /**
+     * Returns up to {@code limit} users ordered by id, strictly after {@code afterId}, with their roles
+     * loaded. {@code role} keeps users holding that role; {@code search} keeps users whose username,
+     * email, first or last name starts with it, ignoring case. Null arguments are ignored.
+     */
+    List<User> findPage(Role.ERole role, String search, Long afterId, int limit);
+}
@@ -0,0 +1,58 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.Role;
+import com.superaipadel.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<User> findPage(Role.ERole role, String search, Long afterId, int limit) {
+        // Page over ids first: a fetch join cannot be limited in SQL
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT u.id FROM User u WHERE 1 = 1");
+        if (role != null) {
+            jpql.append(" AND EXISTS (SELECT 1 FROM u.roles r WHERE r.name = :role)");
+            params.put("role", role);
+        }
+        if (search != null && !search.isBlank()) {
+            // Prefix matches on lower(...) are served by the text_pattern_ops indexes
+            jpql.append(" AND (lower(u.username) LIKE :prefix ESCAPE '\\' OR lower(u.email) LIKE :prefix ESCAPE '\\'")
+                .append(" OR lower(u.firstName) LIKE :prefix ESCAPE '\\' OR lower(u.lastName) LIKE :prefix ESCAPE '\\')");
+            params.put("prefix", escapeLike(search.trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (afterId != null) {
+            jpql.append(" AND u.id > :afterId");
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY u.id");
+
+        TypedQuery<Long> idQuery = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(idQuery::setParameter);
+        idQuery.setMaxResults(limit);
+        List<Long> ids = idQuery.getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Then the users of the page and all their roles in one query
+        return entityManager.createQuery(
+                        "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN :ids ORDER BY u.id", User.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
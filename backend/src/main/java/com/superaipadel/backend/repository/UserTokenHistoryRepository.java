@@ -0,0 +1,9 @@
+package com.superaipadel.backend.repository;
+
+import com.superaipadel.backend.model.UserTokenHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserTokenHistoryRepository extends JpaRepository<UserTokenHistory, Long> {
+}
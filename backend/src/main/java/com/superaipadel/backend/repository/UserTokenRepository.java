@@ -2,20 +2,62 @@ package com.superaipadel.backend.repository;
 
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.model.UserToken;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
     List<UserToken> findByUser(User user);
     
+    // Held until commit, so the pack cannot be archived from under a refund
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ut FROM UserToken ut WHERE ut.id = ?1")
+    Optional<UserToken> findByIdForUpdate(Long id);
+    
     @Query("SELECT ut FROM UserToken ut WHERE ut.user = ?1 AND ut.tokensRemaining > 0 AND (ut.expiryDate IS NULL OR ut.expiryDate > ?2)")
     List<UserToken> findValidTokensByUser(User user, LocalDateTime currentDate);
     
     @Query("SELECT SUM(ut.tokensRemaining) FROM UserToken ut WHERE ut.user = ?1 AND (ut.expiryDate IS NULL OR ut.expiryDate > ?2)")
     Integer countRemainingValidTokens(User user, LocalDateTime currentDate);
+    
+    @Query("SELECT ut FROM UserToken ut WHERE ut.user.id = ?1 AND ut.tokensRemaining > 0 AND (ut.expiryDate IS NULL OR ut.expiryDate > ?2) " +
+           "ORDER BY ut.expiryDate ASC NULLS LAST, ut.id")
+    List<UserToken> findSpendableByUserId(Long userId, LocalDateTime currentDate);
+    
+    @Query("SELECT ut FROM UserToken ut WHERE ut.user.id = ?1 AND ut.tokensRemaining > 0 AND ut.expiryDate >= ?2 AND ut.expiryDate <= ?3")
+    List<UserToken> findExpiringBetween(Long userId, LocalDateTime from, LocalDateTime to);
+    
+    @Query("SELECT MIN(ut.expiryDate) FROM UserToken ut WHERE ut.user.id = ?1 AND ut.tokensRemaining > 0 AND ut.expiryDate > ?2")
+    LocalDateTime findNextExpiry(Long userId, LocalDateTime currentDate);
+    
+    /**
+     * Moves up to {@code limit} used-up or expired packs into user_token_history in one statement.
+     * An expired pack still holding tokens only moves once its user's balance has expired it (the
+     * balance's next expiry is past the pack's), or if it was never counted in a balance at all.
+     * Packs a concurrent refund holds FOR UPDATE are skipped rather than waited on. Spends lock the
+     * user's balance row, not the packs, but only draw on unexpired packs with tokens left, which
+     * this never selects.
+     */
+    @Modifying
+    @Query(value = "WITH moved AS (" +
+            "DELETE FROM user_tokens WHERE id IN (" +
+            "SELECT ut.id FROM user_tokens ut LEFT JOIN token_balances b ON b.user_id = ut.user_id " +
+            "WHERE ut.tokens_remaining = 0 OR (ut.expiry_date <= ?1 " +
+            "AND (b.next_expiry_at IS NULL OR b.next_expiry_at > ut.expiry_date)) " +
+            "ORDER BY ut.id LIMIT ?2 FOR UPDATE OF ut SKIP LOCKED) " +
+            "RETURNING *) " +
+            "INSERT INTO user_token_history (id, user_id, token_pack_id, tokens_remaining, purchase_amount, " +
+            "purchase_date, expiry_date, reason, archived_at) " +
+            "SELECT m.id, m.user_id, m.token_pack_id, m.tokens_remaining, m.purchase_amount, m.purchase_date, " +
+            "m.expiry_date, CASE WHEN m.tokens_remaining = 0 THEN 'EXHAUSTED' ELSE 'EXPIRED' END, ?1 FROM moved m",
+            nativeQuery = true)
+    int archiveSpent(LocalDateTime now, int limit);
 }
@@ -2,8 +2,11 @@ package com.superaipadel.backend.security;
 
 import com.superaipadel.backend.security.jwt.AuthEntryPointJwt;
 import com.superaipadel.backend.security.jwt.AuthTokenFilter;
+import com.superaipadel.backend.security.ratelimit.RateLimitFilter;
+import com.superaipadel.backend.security.ratelimit.RateLimiter;
 import com.superaipadel.backend.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,6 +29,12 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Value("${auth.bcrypt.strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -37,6 +46,8 @@ public class WebSecurityConfig {
         
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Hashes made with a lower work factor are redone with the current one on the next successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         
         return authProvider;
     }
@@ -48,7 +59,7 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
     
     @Bean
@@ -64,6 +75,7 @@ public class WebSecurityConfig {
         
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(new RateLimitFilter(rateLimiter), AuthTokenFilter.class);
         
         return http.build();
     }
@@ -0,0 +1,169 @@
+package com.superaipadel.backend.security.ratelimit;
+
+import com.superaipadel.backend.dto.response.RateLimitMetricsResponse;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets per route group and client, held in memory.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the generic cell rate algorithm), so taking a token is one compare-and-set with no lock and no
+ * allocation. A bucket that has refilled completely is indistinguishable from a new one, so idle
+ * buckets are simply dropped by the periodic sweep.
+ */
+@Component
+public class RateLimiter {
+
+    @Value("${ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ratelimit.auth.paths:/api/auth/**}")
+    private String[] authPaths;
+
+    @Value("${ratelimit.auth.capacity:10}")
+    private int authCapacity;
+
+    @Value("${ratelimit.auth.refillPerMinute:10}")
+    private int authRefillPerMinute;
+
+    @Value("${ratelimit.search.paths:/api/reservations/check-availability,/api/search/**}")
+    private String[] searchPaths;
+
+    @Value("${ratelimit.search.capacity:60}")
+    private int searchCapacity;
+
+    @Value("${ratelimit.search.refillPerMinute:120}")
+    private int searchRefillPerMinute;
+
+    @Value("${ratelimit.default.paths:/api/**}")
+    private String[] defaultPaths;
+
+    @Value("${ratelimit.default.capacity:200}")
+    private int defaultCapacity;
+
+    @Value("${ratelimit.default.refillPerMinute:600}")
+    private int defaultRefillPerMinute;
+
+    // Checked in order; the first group with a matching path applies
+    private final List<Group> groups = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        addGroup("auth", authPaths, authCapacity, authRefillPerMinute);
+        addGroup("search", searchPaths, searchCapacity, searchRefillPerMinute);
+        addGroup("default", defaultPaths, defaultCapacity, defaultRefillPerMinute);
+    }
+
+    private void addGroup(String name, String[] paths, int capacity, int refillPerMinute) {
+        // A group without capacity or refill is disabled
+        if (capacity > 0 && refillPerMinute > 0) {
+            groups.add(new Group(name, paths, capacity, refillPerMinute));
+        }
+    }
+
+    /**
+     * Takes a token for the client from the group matching the path. Returns 0 when the request may
+     * proceed, -1 when no group applies, otherwise the nanoseconds until a token is available.
+     */
+    public long acquire(String path, String clientKey) {
+        if (!enabled) {
+            return -1;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Group group : groups) {
+            if (group.matches(container)) {
+                return group.acquire(clientKey, System.nanoTime());
+            }
+        }
+        return -1;
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.idleEvictionMs:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        groups.forEach(group -> group.evictIdle(now));
+    }
+
+    public RateLimitMetricsResponse metrics() {
+        List<RateLimitMetricsResponse.Group> stats = groups.stream()
+                .map(g -> new RateLimitMetricsResponse.Group(g.name, Arrays.asList(g.paths), g.capacity,
+                        g.refillPerMinute, g.buckets.size(), g.allowed.sum(), g.rejected.sum()))
+                .toList();
+        return new RateLimitMetricsResponse(enabled, stats);
+    }
+
+    private static final class Group {
+        private static final PathPatternParser PARSER = new PathPatternParser();
+
+        private final String name;
+        private final String[] paths;
+        private final PathPattern[] patterns;
+        private final int capacity;
+        private final int refillPerMinute;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        Group(String name, String[] paths, int capacity, int refillPerMinute) {
+            this.name = name;
+            this.paths = paths;
+            this.patterns = Arrays.stream(paths).map(String::trim).map(PARSER::parse).toArray(PathPattern[]::new);
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+            this.burstNanos = intervalNanos * capacity;
+        }
+
+        boolean matches(PathContainer path) {
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long acquire(String clientKey, long now) {
+            AtomicLong bucket = buckets.get(clientKey);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(clientKey, key -> new AtomicLong(now));
+            }
+            while (true) {
+                // The bucket is full again at fullAt; each token taken pushes that one interval later
+                long fullAt = bucket.get();
+                long next = (fullAt - now > 0 ? fullAt : now) + intervalNanos;
+                long wait = next - now - burstNanos;
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                if (bucket.compareAndSet(fullAt, next)) {
+                    allowed.increment();
+                    return 0;
+                }
+            }
+        }
+
+        // A full bucket carries no state; dropping it and recreating it later gives the same result
+        void evictIdle(long now) {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+}
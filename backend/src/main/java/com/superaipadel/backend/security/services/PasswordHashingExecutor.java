@@ -0,0 +1,109 @@
+package com.superaipadel.backend.security.services;
+
+import com.superaipadel.backend.dto.response.PasswordHashingMetricsResponse;
+import com.superaipadel.backend.exception.AuthOverloadedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification off the servlet threads, on a fixed pool behind a bounded
+ * queue. When the queue is full the work is refused with a 429 instead of piling up, so a burst of
+ * signins and signups can never take more than its share of the server.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    @Value("${auth.bcrypt.strength:10}")
+    private int strength;
+
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.hashing.queueCapacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        // BCrypt is pure CPU work, so by default one thread per core
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Runs the work on the hashing pool. Throws {@link AuthOverloadedException} at once when the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - queuedAt);
+                try {
+                    T result = work.get();
+                    completed.increment();
+                    return result;
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    throw e;
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    runNanos.add(elapsed);
+                    maxRunNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new AuthOverloadedException();
+        }
+    }
+
+    public PasswordHashingMetricsResponse metrics() {
+        long finished = completed.sum() + failed.sum();
+        return new PasswordHashingMetricsResponse(strength, threads, executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity, completed.sum(), failed.sum(), rejected.sum(),
+                averageMs(queueWaitNanos.sum(), finished), averageMs(runNanos.sum(), finished),
+                maxRunNanos.get() / 1_000_000.0);
+    }
+
+    private static double averageMs(long totalNanos, long count) {
+        return count == 0 ? 0 : totalNanos / 1_000_000.0 / count;
+    }
+}
@@ -0,0 +1,84 @@
+package com.superaipadel.backend.security.services;
+
+import com.superaipadel.backend.model.RefreshToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used map from token hash to the fields a refresh needs, bounded by
+ * {@code jwt.refreshCacheSize}. Only a hint: rotation is still decided by a conditional update,
+ * so an entry gone stale on another node can never let a token be used twice.
+ */
+@Component
+public class RefreshTokenCache {
+
+    @Value("${jwt.refreshCacheSize:10000}")
+    private int maxSize;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public synchronized Entry get(String tokenHash) {
+        return entries.get(tokenHash);
+    }
+
+    public synchronized Entry put(RefreshToken token) {
+        Entry entry = new Entry(token.getId(), token.getUser().getId(), token.getFamilyId(),
+                token.getExpiryDate(), token.getUsedAt() != null);
+        entries.put(token.getTokenHash(), entry);
+        return entry;
+    }
+
+    public synchronized void markUsed(String tokenHash) {
+        entries.computeIfPresent(tokenHash,
+                (hash, e) -> new Entry(e.getId(), e.getUserId(), e.getFamilyId(), e.getExpiryDate(), true));
+    }
+
+    public synchronized void evictFamily(String familyId) {
+        entries.values().removeIf(e -> e.getFamilyId().equals(familyId));
+    }
+
+    public static final class Entry {
+        private final Long id;
+        private final Long userId;
+        private final String familyId;
+        private final Instant expiryDate;
+        private final boolean used;
+
+        Entry(Long id, Long userId, String familyId, Instant expiryDate, boolean used) {
+            this.id = id;
+            this.userId = userId;
+            this.familyId = familyId;
+            this.expiryDate = expiryDate;
+            this.used = used;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getFamilyId() {
+            return familyId;
+        }
+
+        public Instant getExpiryDate() {
+            return expiryDate;
+        }
+
+        public boolean isUsed() {
+            return used;
+        }
+    }
+}
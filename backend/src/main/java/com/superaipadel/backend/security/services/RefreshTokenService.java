@@ -5,17 +5,29 @@ import com.superaipadel.backend.model.RefreshToken;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.repository.RefreshTokenRepository;
 import com.superaipadel.backend.repository.UserRepository;
+import com.superaipadel.backend.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.Optional;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.UUID;
 
+/**
+ * Refresh tokens grouped in families, one per signin, so each device keeps its own session.
+ * A refresh rotates the token; a rotated token presented again revokes its whole family.
+ */
 @Service
 public class RefreshTokenService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     @Value("${jwt.refreshExpirationMs}")
     private Long refreshTokenDurationMs;
 
@@ -25,40 +37,76 @@ public class RefreshTokenService {
     @Autowired
     private UserRepository userRepository;
 
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
-    }
+    @Autowired
+    private RefreshTokenCache refreshTokenCache;
 
+    @Transactional
     public RefreshToken createRefreshToken(Long userId) {
-        RefreshToken refreshToken = new RefreshToken();
-
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id " + userId));
+        return issue(user, UUID.randomUUID().toString());
+    }
 
-        // First, delete any existing refresh tokens for this user
-        refreshTokenRepository.deleteByUser(user);
+    /**
+     * Exchanges a refresh token for its successor. The returned token carries the user with their roles loaded.
+     */
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public RefreshToken rotate(String token) {
+        String hash = hash(token);
+        RefreshTokenCache.Entry entry = refreshTokenCache.get(hash);
+        if (entry == null) {
+            RefreshToken stored = refreshTokenRepository.findByTokenHash(hash)
+                    .orElseThrow(() -> new TokenRefreshException(token, "Refresh token is not in database!"));
+            entry = refreshTokenCache.put(stored);
+        }
 
-        refreshToken.setUser(user);
-        refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs));
-        refreshToken.setToken(UUID.randomUUID().toString());
+        Instant now = Instant.now();
+        if (entry.getExpiryDate().isBefore(now)) {
+            throw new TokenRefreshException(token, "Refresh token was expired. Please make a new signin request");
+        }
+        if (entry.isUsed() || refreshTokenRepository.markUsed(entry.getId(), now) == 0) {
+            // Committed despite the exception, so the stolen session ends for the thief too
+            revokeFamily(entry.getFamilyId());
+            throw new TokenRefreshException(token, "Refresh token was already used. Please make a new signin request");
+        }
+        TransactionCallbacks.afterCommit(() -> refreshTokenCache.markUsed(hash));
 
-        refreshToken = refreshTokenRepository.save(refreshToken);
-        return refreshToken;
+        Long userId = entry.getUserId();
+        User user = userRepository.findWithRolesById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id " + userId));
+        return issue(user, entry.getFamilyId());
     }
 
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
-            throw new TokenRefreshException(token.getToken(), "Refresh token was expired. Please make a new signin request");
-        }
+    private void revokeFamily(String familyId) {
+        refreshTokenRepository.deleteByFamilyId(familyId);
+        TransactionCallbacks.afterCommit(() -> refreshTokenCache.evictFamily(familyId));
+    }
 
-        return token;
+    private RefreshToken issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant now = Instant.now();
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiryDate(now.plusMillis(refreshTokenDurationMs));
+
+        RefreshToken saved = refreshTokenRepository.save(refreshToken);
+        saved.setToken(token);
+        TransactionCallbacks.afterCommit(() -> refreshTokenCache.put(saved));
+        return saved;
     }
 
-    @Transactional
-    public int deleteByUserId(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id " + userId));
-        return refreshTokenRepository.deleteByUser(user);
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
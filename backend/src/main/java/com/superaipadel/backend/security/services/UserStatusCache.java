@@ -0,0 +1,55 @@
+package com.superaipadel.backend.security.services;
+
+import com.superaipadel.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers for a short while whether a user still exists, so that tokens of deleted users stop
+ * working within {@code jwt.userCheckTtlSeconds} without a database lookup on every request.
+ */
+@Component
+public class UserStatusCache {
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    @Value("${jwt.userCheckTtlSeconds:30}")
+    private long ttlSeconds;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public boolean isActive(Long userId) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.checkedAt < ttlSeconds * 1_000_000_000L) {
+            return entry.active;
+        }
+
+        if (entries.size() > SWEEP_THRESHOLD) {
+            entries.values().removeIf(e -> now - e.checkedAt >= ttlSeconds * 1_000_000_000L);
+        }
+        boolean active = userRepository.existsById(userId);
+        entries.put(userId, new Entry(active, now));
+        return active;
+    }
+
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+
+    private static final class Entry {
+        private final boolean active;
+        private final long checkedAt;
+
+        Entry(boolean active, long checkedAt) {
+            this.active = active;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.superaipadel.backend.service;
+
+import com.superaipadel.backend.dto.request.FreeSlotFilter;
+import com.superaipadel.backend.dto.response.AvailabilityGridResponse;
+import com.superaipadel.backend.dto.response.FreeSlotResponse;
+import com.superaipadel.backend.dto.response.NearbyFacilityResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AvailabilityService {
+    AvailabilityGridResponse getFacilityGrid(Long facilityId, LocalDateTime from, LocalDateTime to, Duration granularity);
+    List<NearbyFacilityResponse> findNearbyAvailable(double latitude, double longitude, double radiusKm, int limit,
+                                                     LocalDateTime from, LocalDateTime to);
+    List<FreeSlotResponse> findFreeSlots(FreeSlotFilter filter);
+}
@@ -3,11 +3,13 @@ package com.superaipadel.backend.service;
 import com.superaipadel.backend.model.Equipment;
 import com.superaipadel.backend.model.Facility;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EquipmentService {
     Equipment findById(Long id);
     List<Equipment> findAll();
+    List<Equipment> findAllById(Collection<Long> ids);
     List<Equipment> findByFacility(Facility facility);
     List<Equipment> findByFacilityAndType(Facility facility, Equipment.EquipmentType type);
     List<Equipment> findByFacilityAndAvailableForPurchase(Facility facility, boolean availableForPurchase);
@@ -16,4 +18,5 @@ public interface EquipmentService {
     Equipment update(Long id, Equipment equipmentDetails);
     void deleteById(Long id);
     void updateStock(Long id, Integer quantityChange);
+    int lockStock(Long id);
 }
@@ -1,5 +1,9 @@
 package com.superaipadel.backend.service;
 
+import com.superaipadel.backend.dto.projection.EquipmentTransactionSummary;
+import com.superaipadel.backend.dto.request.CartCheckoutRequest;
+import com.superaipadel.backend.dto.response.KeysetPageResponse;
+import com.superaipadel.backend.dto.response.RentalAvailabilityResponse;
 import com.superaipadel.backend.model.Equipment;
 import com.superaipadel.backend.model.EquipmentTransaction;
 import com.superaipadel.backend.model.User;
@@ -9,6 +13,11 @@ import java.util.List;
 
 public interface EquipmentTransactionService {
     EquipmentTransaction findById(Long id);
+    EquipmentTransactionSummary findSummaryById(Long id);
+    List<EquipmentTransactionSummary> findSummariesByUserId(Long userId);
+    List<EquipmentTransactionSummary> findActiveRentalSummariesByUserId(Long userId);
+    List<EquipmentTransactionSummary> findSummariesByFacilityId(Long facilityId);
+    KeysetPageResponse<EquipmentTransactionSummary> findOverdueByFacilityId(Long facilityId, String cursor, int limit);
     List<EquipmentTransaction> findAll();
     List<EquipmentTransaction> findByUser(User user);
     List<EquipmentTransaction> findByEquipment(Equipment equipment);
@@ -19,7 +28,10 @@ public interface EquipmentTransactionService {
     List<EquipmentTransaction> findActiveRentalsByUser(User user);
     EquipmentTransaction save(EquipmentTransaction transaction);
     EquipmentTransaction purchaseEquipment(User user, Equipment equipment, Integer quantity);
+    List<EquipmentTransaction> checkout(User user, List<CartCheckoutRequest.CartLine> lines);
     EquipmentTransaction rentEquipment(User user, Equipment equipment, Integer quantity, LocalDateTime returnDate);
+    EquipmentTransaction rentEquipment(User user, Equipment equipment, Integer quantity, LocalDateTime startDate, LocalDateTime returnDate);
+    RentalAvailabilityResponse getRentalAvailability(Long equipmentId, LocalDateTime from, LocalDateTime to);
     EquipmentTransaction returnRentedEquipment(Long transactionId);
     EquipmentTransaction cancelTransaction(Long id);
 }
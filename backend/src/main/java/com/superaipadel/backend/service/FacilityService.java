@@ -1,16 +1,29 @@
 package com.superaipadel.backend.service;
 
+import com.superaipadel.backend.dto.projection.FacilitySummary;
+import com.superaipadel.backend.dto.request.OpeningHoursRequest;
+import com.superaipadel.backend.dto.response.NearbyFacilityResponse;
+import com.superaipadel.backend.dto.response.OpeningHoursResponse;
 import com.superaipadel.backend.model.Facility;
 import com.superaipadel.backend.model.User;
+import com.superaipadel.backend.service.geo.FacilityGeoIndex;
 
 import java.util.List;
 
 public interface FacilityService {
     Facility findById(Long id);
+    FacilitySummary findSummaryById(Long id);
+    List<FacilitySummary> findAllSummaries();
+    List<FacilitySummary> findSummariesByCity(String city);
+    List<FacilitySummary> findSummariesByOwnerId(Long ownerId);
+    List<NearbyFacilityResponse> findNearby(double latitude, double longitude, double radiusKm, int limit);
+    List<NearbyFacilityResponse> describeNearby(List<FacilityGeoIndex.Hit> hits);
     List<Facility> findAll();
     List<Facility> findByOwner(User owner);
     List<Facility> findByCity(String city);
     Facility save(Facility facility);
     Facility update(Long id, Facility facilityDetails);
+    OpeningHoursResponse getOpeningHours(Long id);
+    OpeningHoursResponse replaceOpeningHours(Long id, OpeningHoursRequest request);
     void deleteById(Long id);
 }
@@ -0,0 +1,19 @@
+package com.superaipadel.backend.service;
+
+import com.superaipadel.backend.dto.request.PricingRuleRequest;
+import com.superaipadel.backend.dto.response.PriceGridResponse;
+import com.superaipadel.backend.model.PricingRule;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PricingService {
+    BigDecimal quote(Long terrainId, LocalDateTime start, LocalDateTime end, boolean member);
+    PriceGridResponse quoteGrid(Long facilityId, LocalDateTime from, LocalDateTime to, Duration granularity, boolean member);
+    List<PricingRule> findRules(Long facilityId);
+    PricingRule createRule(Long facilityId, PricingRuleRequest request);
+    void deleteRule(Long facilityId, Long ruleId);
+    void reload();
+}
@@ -1,15 +1,30 @@
 package com.superaipadel.backend.service;
 
+import com.superaipadel.backend.dto.projection.ReservationSummary;
+import com.superaipadel.backend.dto.request.BulkReservationRequest;
+import com.superaipadel.backend.dto.request.ReservationFilter;
+import com.superaipadel.backend.dto.request.TerrainBlackoutRequest;
+import com.superaipadel.backend.dto.response.BulkReservationResponse;
+import com.superaipadel.backend.dto.response.KeysetPageResponse;
+import com.superaipadel.backend.dto.response.TerrainBlackoutResponse;
 import com.superaipadel.backend.model.Reservation;
 import com.superaipadel.backend.model.Terrain;
+import com.superaipadel.backend.model.TerrainBlackout;
 import com.superaipadel.backend.model.User;
+import com.superaipadel.backend.service.availability.SlotHold;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReservationService {
     Reservation findById(Long id);
+    ReservationSummary findSummaryById(Long id);
+    List<ReservationSummary> findSummariesByUserId(Long userId);
+    List<ReservationSummary> findSummariesByTerrainId(Long terrainId);
     List<Reservation> findAll();
+    KeysetPageResponse<ReservationSummary> findPage(ReservationFilter filter, String cursor, int limit);
+    void streamReservations(ReservationFilter filter, Consumer<ReservationSummary> consumer);
     List<Reservation> findByUser(User user);
     List<Reservation> findByTerrain(Terrain terrain);
     List<Reservation> findByTerrainAndStatus(Terrain terrain, Reservation.ReservationStatus status);
@@ -17,6 +32,15 @@ public interface ReservationService {
     List<Reservation> findOverlappingReservations(Terrain terrain, LocalDateTime start, LocalDateTime end);
     List<Reservation> findByFacilityId(Long facilityId);
     List<Reservation> findByFacilityOwnerId(Long ownerId);
+    Reservation createReservation(User user, Terrain terrain, Reservation reservation);
+    Reservation createReservation(User user, Terrain terrain, Reservation reservation, String holdId);
+    Reservation createReservationWithTokens(User user, Terrain terrain, Reservation reservation, String holdId);
+    BulkReservationResponse createReservations(User user, Terrain terrain, BulkReservationRequest request);
+    SlotHold createHold(User user, Terrain terrain, LocalDateTime start, LocalDateTime end);
+    boolean releaseHold(User user, String holdId);
+    TerrainBlackoutResponse declareBlackout(Terrain terrain, TerrainBlackoutRequest request);
+    List<TerrainBlackout> findBlackouts(Long terrainId);
+    void deleteBlackout(Long terrainId, Long blackoutId);
     Reservation save(Reservation reservation);
     Reservation update(Long id, Reservation reservationDetails);
     void deleteById(Long id);
@@ -1,5 +1,6 @@
 package com.superaipadel.backend.service;
 
+import com.superaipadel.backend.dto.projection.TerrainSummary;
 import com.superaipadel.backend.model.Facility;
 import com.superaipadel.backend.model.Terrain;
 
@@ -7,6 +8,11 @@ import java.util.List;
 
 public interface TerrainService {
     Terrain findById(Long id);
+    TerrainSummary findSummaryById(Long id);
+    List<TerrainSummary> findAllSummaries();
+    List<TerrainSummary> findSummariesByActive(boolean active);
+    List<TerrainSummary> findSummariesByFacilityId(Long facilityId);
+    List<TerrainSummary> findSummariesByFacilityIdAndActive(Long facilityId, boolean active);
     List<Terrain> findAll();
     List<Terrain> findByFacility(Facility facility);
     List<Terrain> findByFacilityAndActive(Facility facility, boolean active);
@@ -1,5 +1,7 @@
 package com.superaipadel.backend.service;
 
+import com.superaipadel.backend.dto.projection.UserSummary;
+import com.superaipadel.backend.dto.response.KeysetPageResponse;
 import com.superaipadel.backend.model.Role;
 import com.superaipadel.backend.model.User;
 
@@ -14,4 +16,5 @@ public interface UserService {
     void deleteById(Long id);
     User updateProfile(Long id, User userDetails);
     List<User> findUsersByRole(Role.ERole role);
+    KeysetPageResponse<UserSummary> findPage(Role.ERole role, String search, String cursor, int limit);
 }
@@ -1,5 +1,6 @@
 package com.superaipadel.backend.service;
 
+import com.superaipadel.backend.dto.response.TokenBalanceResponse;
 import com.superaipadel.backend.model.TokenPack;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.model.UserToken;
@@ -12,8 +13,14 @@ public interface UserTokenService {
     List<UserToken> findByUser(User user);
     List<UserToken> findValidTokensByUser(User user);
     Integer countRemainingValidTokens(User user);
+    boolean isMember(Long userId);
     UserToken purchaseTokens(User user, TokenPack tokenPack);
     UserToken useTokens(User user, Integer tokenCount);
+    UserToken useTokens(User user, Integer tokenCount, Long reservationId);
+    int refundReservation(User user, Long reservationId);
+    TokenBalanceResponse reconcile(User user);
+    int expireDueBalances(int limit);
+    int archiveSpentPacks(int limit);
     UserToken save(UserToken userToken);
     void deleteById(Long id);
 }
@@ -0,0 +1,295 @@
+package com.superaipadel.backend.service.availability;
+
+import com.superaipadel.backend.dto.response.SlotChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of slot changes to Server-Sent Events subscribers, one subscription per facility.
+ *
+ * Publishing never blocks: each subscriber has a small bounded buffer drained by a shared dispatcher
+ * pool, and a subscriber whose buffer overflows has its backlog dropped and receives a single
+ * "resync" event telling it to reload the availability grid. Idle connections hold no thread.
+ *
+ * A write to a client that stopped reading blocks the dispatcher thread making it until the
+ * container's write timeout ({@code server.tomcat.connection-timeout}) fails it. Each drain sends at
+ * most one buffer's worth before yielding the thread. A watchdog on its own thread detaches any
+ * subscriber whose write has been stuck longer than the send timeout, so nothing more is queued for
+ * it, and grows the dispatcher pool by one thread for as long as that write is stuck, so the other
+ * subscribers keep being served. The watchdog never touches the emitter: the stuck write holds its
+ * monitor. The emitter is completed by the dispatcher thread once the write returns or fails; the
+ * client then reconnects and reloads the grid.
+ */
+@Component
+public class AvailabilityEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityEventBus.class);
+
+    @Value("${availability.stream.bufferSize:64}")
+    private int bufferSize;
+
+    @Value("${availability.stream.timeoutMs:1800000}")
+    private long timeoutMs;
+
+    @Value("${availability.stream.maxSubscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${availability.stream.heartbeatSeconds:25}")
+    private long heartbeatSeconds;
+
+    @Value("${availability.stream.dispatcherThreads:4}")
+    private int dispatcherThreads;
+
+    @Value("${availability.stream.sendTimeoutMs:5000}")
+    private long sendTimeoutMs;
+
+    @Autowired
+    private TerrainDirectory terrainDirectory;
+
+    private final Map<Long, Set<Subscriber>> subscribersByFacility = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final AtomicInteger stalledSends = new AtomicInteger();
+
+    private ThreadPoolExecutor dispatcher;
+    private ScheduledExecutorService heartbeats;
+    private ScheduledExecutorService watchdog;
+
+    @PostConstruct
+    public void start() {
+        dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("availability-sse-"));
+        heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("availability-sse-heartbeat-"));
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        watchdog = Executors.newSingleThreadScheduledExecutor(daemonThreads("availability-sse-watchdog-"));
+        long watchdogMs = Math.max(sendTimeoutMs / 2, 100);
+        watchdog.scheduleWithFixedDelay(this::detachStalledSends, watchdogMs, watchdogMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        watchdog.shutdownNow();
+        heartbeats.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribersByFacility.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    public SseEmitter subscribe(Long facilityId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many availability subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(facilityId, emitter, bufferSize);
+        subscribersByFacility.computeIfAbsent(facilityId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    public void publish(Long terrainId, LocalDateTime start, LocalDateTime end) {
+        Long facilityId = terrainDirectory.facilityIdOf(terrainId);
+        if (facilityId == null) {
+            return;
+        }
+        Set<Subscriber> subscribers = subscribersByFacility.get(facilityId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        SlotChangedEvent event = new SlotChangedEvent(facilityId, terrainId, start, end);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.pending.contains(event) && !subscriber.pending.offer(event)) {
+                subscriber.resync.set(true);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void heartbeat() {
+        for (Set<Subscriber> subscribers : subscribersByFacility.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.heartbeatDue.set(true);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // Only bookkeeping here: calling the emitter would block on the monitor held by the stuck write
+    private void detachStalledSends() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Set<Subscriber> subscribers : subscribersByFacility.values()) {
+            for (Subscriber subscriber : subscribers) {
+                long since = subscriber.sendingSince;
+                if (since != 0 && since - deadline < 0 && subscriber.stalled.compareAndSet(false, true)) {
+                    logger.debug("Detaching availability subscriber of facility {}: send stalled", subscriber.facilityId);
+                    unsubscribe(subscriber);
+                    stalledSends.incrementAndGet();
+                    resizeDispatcher();
+                    // The write may have returned meanwhile, in which case nothing else gives the spare back
+                    if (subscriber.sendingSince == 0) {
+                        releaseSpare(subscriber);
+                    }
+                    schedule(subscriber);
+                }
+            }
+        }
+    }
+
+    // One spare thread per stuck write, up to four times the configured pool
+    private synchronized void resizeDispatcher() {
+        int size = Math.min(dispatcherThreads + stalledSends.get(), dispatcherThreads * 4);
+        if (size > dispatcher.getMaximumPoolSize()) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    // At most one drain task per subscriber is queued or running at any time
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.stalled.get()) {
+                throw new IOException("Send stalled for more than " + sendTimeoutMs + " ms");
+            }
+            if (subscriber.closed.get()) {
+                return;
+            }
+            if (subscriber.resync.getAndSet(false)) {
+                subscriber.pending.clear();
+                send(subscriber, SseEmitter.event().name("resync").data(subscriber.facilityId));
+            }
+            // One buffer's worth per turn so a busy facility cannot hold a dispatcher thread indefinitely
+            SlotChangedEvent event;
+            for (int sent = 0; sent < bufferSize && !subscriber.closed.get() && (event = subscriber.pending.poll()) != null; sent++) {
+                send(subscriber, SseEmitter.event().name("slot-changed").data(event));
+            }
+            if (!subscriber.closed.get() && subscriber.heartbeatDue.getAndSet(false)) {
+                send(subscriber, SseEmitter.event().comment("keep-alive"));
+            }
+            // Detached by the watchdog while a write was stuck; the write has returned, so end the response
+            if (subscriber.stalled.get()) {
+                throw new IOException("Send stalled for more than " + sendTimeoutMs + " ms");
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping availability subscriber of facility {}: {}", subscriber.facilityId, e.getMessage());
+            close(subscriber, e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+
+        if (subscriber.closed.get() ? subscriber.stalled.get() && !subscriber.completed.get()
+                : subscriber.resync.get() || !subscriber.pending.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendingSince = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.sendingSince = 0;
+            if (subscriber.stalled.get()) {
+                releaseSpare(subscriber);
+            }
+        }
+    }
+
+    private void releaseSpare(Subscriber subscriber) {
+        if (subscriber.spareReleased.compareAndSet(false, true)) {
+            stalledSends.decrementAndGet();
+            resizeDispatcher();
+        }
+    }
+
+    // Removes the subscriber and ends its response, so the container releases the connection. Called
+    // on the dispatcher thread that owns the subscriber's writes, never while another write is running.
+    private void close(Subscriber subscriber, Throwable cause) {
+        unsubscribe(subscriber);
+        if (!subscriber.completed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            subscriber.emitter.completeWithError(cause);
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+
+    private boolean unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscriberCount.decrementAndGet();
+        Set<Subscriber> subscribers = subscribersByFacility.get(subscriber.facilityId);
+        if (subscribers != null) {
+            subscribers.remove(subscriber);
+        }
+        subscriber.pending.clear();
+        return true;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+        private final Long facilityId;
+        private final SseEmitter emitter;
+        private final Queue<SlotChangedEvent> pending;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean resync = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        private final AtomicBoolean spareReleased = new AtomicBoolean();
+        // System.nanoTime() when the write in progress started, 0 while no write is in progress
+        private volatile long sendingSince;
+
+        Subscriber(Long facilityId, SseEmitter emitter, int bufferSize) {
+            this.facilityId = facilityId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
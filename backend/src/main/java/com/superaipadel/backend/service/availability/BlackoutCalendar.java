@@ -0,0 +1,72 @@
+package com.superaipadel.backend.service.availability;
+
+import com.superaipadel.backend.model.TerrainBlackout;
+import com.superaipadel.backend.repository.TerrainBlackoutRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of every terrain blackout. A terrain rarely has more than a handful, so each
+ * keeps an immutable list replaced on write and readers never lock.
+ */
+@Component
+public class BlackoutCalendar {
+    private static final Logger logger = LoggerFactory.getLogger(BlackoutCalendar.class);
+
+    @Autowired
+    private TerrainBlackoutRepository blackoutRepository;
+
+    private final Map<Long, List<TerrainBlackout>> blackoutsByTerrain = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        List<TerrainBlackout> blackouts = blackoutRepository.findAll();
+        blackouts.forEach(this::put);
+        logger.info("Loaded {} terrain blackouts", blackouts.size());
+    }
+
+    public boolean isFree(Long terrainId, LocalDateTime start, LocalDateTime end) {
+        for (TerrainBlackout blackout : blackoutsByTerrain.getOrDefault(terrainId, List.of())) {
+            if (blackout.getStartTime().isBefore(end) && blackout.getEndTime().isAfter(start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<TerrainBlackout> findOverlapping(Long terrainId, LocalDateTime start, LocalDateTime end) {
+        List<TerrainBlackout> result = new ArrayList<>();
+        for (TerrainBlackout blackout : blackoutsByTerrain.getOrDefault(terrainId, List.of())) {
+            if (blackout.getStartTime().isBefore(end) && blackout.getEndTime().isAfter(start)) {
+                result.add(blackout);
+            }
+        }
+        return result;
+    }
+
+    public void put(TerrainBlackout blackout) {
+        blackoutsByTerrain.compute(blackout.getTerrainId(), (id, blackouts) -> {
+            List<TerrainBlackout> updated = blackouts == null ? new ArrayList<>() : new ArrayList<>(blackouts);
+            updated.removeIf(b -> b.getId().equals(blackout.getId()));
+            updated.add(blackout);
+            return List.copyOf(updated);
+        });
+    }
+
+    public void remove(TerrainBlackout blackout) {
+        blackoutsByTerrain.computeIfPresent(blackout.getTerrainId(), (id, blackouts) -> {
+            List<TerrainBlackout> updated = new ArrayList<>(blackouts);
+            updated.removeIf(b -> b.getId().equals(blackout.getId()));
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.superaipadel.backend.service.availability;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A set of disjoint half-open intervals keyed by start time. Overlapping intervals are merged on
+ * insertion, so an overlap test is a single floor lookup.
+ */
+public class IntervalSet {
+    private final TreeMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return overlapEnd(start, end) != null;
+    }
+
+    /**
+     * The end of the last interval overlapping [start, end), or null when the window is free.
+     * No window starting before that instant can be free.
+     */
+    public LocalDateTime overlapEnd(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = intervals.lowerEntry(end);
+        return before != null && before.getValue().isAfter(start) ? before.getValue() : null;
+    }
+
+    public void add(LocalDateTime start, LocalDateTime end) {
+        // Absorb every interval touching [start, end) into one
+        Map.Entry<LocalDateTime, LocalDateTime> before = intervals.floorEntry(start);
+        if (before != null && !before.getValue().isBefore(start)) {
+            start = before.getKey();
+            if (before.getValue().isAfter(end)) {
+                end = before.getValue();
+            }
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> next;
+        while ((next = intervals.ceilingEntry(start)) != null && !next.getKey().isAfter(end)) {
+            if (next.getValue().isAfter(end)) {
+                end = next.getValue();
+            }
+            intervals.remove(next.getKey());
+        }
+        intervals.put(start, end);
+    }
+}
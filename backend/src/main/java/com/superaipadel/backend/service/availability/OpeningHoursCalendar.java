@@ -0,0 +1,48 @@
+package com.superaipadel.backend.service.availability;
+
+import com.superaipadel.backend.repository.OpeningOverrideRepository;
+import com.superaipadel.backend.repository.OpeningPeriodRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Caches the compiled opening schedule of each facility. Schedules are compiled on first use and
+ * evicted when the facility's hours change, so availability checks never touch the database or parse text.
+ */
+@Component
+public class OpeningHoursCalendar {
+
+    @Autowired
+    private OpeningPeriodRepository openingPeriodRepository;
+
+    @Autowired
+    private OpeningOverrideRepository openingOverrideRepository;
+
+    private final Map<Long, OpeningSchedule> schedules = new ConcurrentHashMap<>();
+
+    public OpeningSchedule scheduleOf(Long facilityId) {
+        if (facilityId == null) {
+            return OpeningSchedule.ALWAYS_OPEN;
+        }
+        return schedules.computeIfAbsent(facilityId, id -> OpeningSchedule.compile(
+                openingPeriodRepository.findByFacilityId(id), openingOverrideRepository.findByFacilityId(id)));
+    }
+
+    public boolean isOpen(Long facilityId, LocalDateTime start, LocalDateTime end) {
+        return scheduleOf(facilityId).isOpen(start, end);
+    }
+
+    public void forEachClosed(Long facilityId, LocalDateTime from, LocalDateTime to,
+                              BiConsumer<LocalDateTime, LocalDateTime> consumer) {
+        scheduleOf(facilityId).forEachClosed(from, to, consumer);
+    }
+
+    public void evict(Long facilityId) {
+        schedules.remove(facilityId);
+    }
+}
@@ -0,0 +1,146 @@
+package com.superaipadel.backend.service.availability;
+
+import com.superaipadel.backend.model.OpeningOverride;
+import com.superaipadel.backend.model.OpeningPeriod;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A facility's opening hours compiled into one bitmap of open minutes per weekday, plus one per
+ * exception date. Immutable once built; an exception date replaces the weekly bitmap for that whole
+ * day, including any overnight range spilling in from the day before.
+ */
+public final class OpeningSchedule {
+    private static final int MINUTES_PER_DAY = 1440;
+
+    public static final OpeningSchedule ALWAYS_OPEN = new OpeningSchedule(null, Map.of());
+
+    // Indexed by DayOfWeek.getValue() - 1; null when the facility has no weekly schedule
+    private final BitSet[] weekly;
+    private final Map<LocalDate, BitSet> overrides;
+
+    private OpeningSchedule(BitSet[] weekly, Map<LocalDate, BitSet> overrides) {
+        this.weekly = weekly;
+        this.overrides = overrides;
+    }
+
+    public static OpeningSchedule compile(List<OpeningPeriod> periods, List<OpeningOverride> overrides) {
+        if (periods.isEmpty() && overrides.isEmpty()) {
+            return ALWAYS_OPEN;
+        }
+        BitSet[] weekly = null;
+        if (!periods.isEmpty()) {
+            weekly = new BitSet[7];
+            for (int day = 0; day < 7; day++) {
+                weekly[day] = new BitSet(MINUTES_PER_DAY);
+            }
+            for (OpeningPeriod period : periods) {
+                int day = period.getDayOfWeek().getValue() - 1;
+                int open = minuteOf(period.getOpenTime());
+                int close = minuteOf(period.getCloseTime());
+                if (close > open) {
+                    weekly[day].set(open, close);
+                } else {
+                    weekly[day].set(open, MINUTES_PER_DAY);
+                    weekly[(day + 1) % 7].set(0, close);
+                }
+            }
+        }
+
+        Map<LocalDate, BitSet> compiled = new HashMap<>();
+        for (OpeningOverride override : overrides) {
+            BitSet bits = new BitSet(MINUTES_PER_DAY);
+            if (override.getOpenTime() != null && override.getCloseTime() != null) {
+                int open = minuteOf(override.getOpenTime());
+                int close = minuteOf(override.getCloseTime());
+                // An override only describes its own date, so an overnight close ends at midnight
+                bits.set(open, close > open ? close : MINUTES_PER_DAY);
+            }
+            compiled.put(override.getDate(), bits);
+        }
+        return new OpeningSchedule(weekly, Map.copyOf(compiled));
+    }
+
+    /**
+     * Whether the facility is open for every minute of [start, end). Partial minutes count as whole ones.
+     */
+    public boolean isOpen(LocalDateTime start, LocalDateTime end) {
+        if (this == ALWAYS_OPEN) {
+            return true;
+        }
+        LocalDate day = start.toLocalDate();
+        int from = start.getHour() * 60 + start.getMinute();
+        while (true) {
+            long untilEnd = Duration.between(day.atStartOfDay(), end).toMinutes();
+            int to = (int) Math.min(MINUTES_PER_DAY, untilEnd + (end.getSecond() > 0 || end.getNano() > 0 ? 1 : 0));
+            BitSet open = openMinutes(day);
+            if (open != null && open.nextClearBit(from) < to) {
+                return false;
+            }
+            if (to < MINUTES_PER_DAY) {
+                return true;
+            }
+            day = day.plusDays(1);
+            from = 0;
+            if (!day.atStartOfDay().isBefore(end)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reports every closed range intersecting [from, to), clipped to the window.
+     */
+    public void forEachClosed(LocalDateTime from, LocalDateTime to, BiConsumer<LocalDateTime, LocalDateTime> consumer) {
+        if (this == ALWAYS_OPEN) {
+            return;
+        }
+        for (LocalDate day = from.toLocalDate(); day.atStartOfDay().isBefore(to); day = day.plusDays(1)) {
+            BitSet open = openMinutes(day);
+            if (open == null) {
+                continue;
+            }
+            LocalDateTime midnight = day.atStartOfDay();
+            int closed = open.nextClearBit(0);
+            while (closed < MINUTES_PER_DAY) {
+                int next = open.nextSetBit(closed);
+                int reopen = next < 0 ? MINUTES_PER_DAY : next;
+                LocalDateTime start = max(midnight.plusMinutes(closed), from);
+                LocalDateTime end = min(midnight.plusMinutes(reopen), to);
+                if (start.isBefore(end)) {
+                    consumer.accept(start, end);
+                }
+                closed = reopen < MINUTES_PER_DAY ? open.nextClearBit(reopen) : MINUTES_PER_DAY;
+            }
+        }
+    }
+
+    // Null means no restriction on that day
+    private BitSet openMinutes(LocalDate day) {
+        BitSet override = overrides.get(day);
+        if (override != null) {
+            return override;
+        }
+        return weekly != null ? weekly[day.getDayOfWeek().getValue() - 1] : null;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,143 @@
+package com.superaipadel.backend.service.availability;
+
+import com.superaipadel.backend.dto.projection.RentalSlot;
+import com.superaipadel.backend.repository.EquipmentTransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory calendar of the pending rentals of every item, used to tell how many units are out
+ * during a window. Rentals occupy their units over the half-open window [start, return date).
+ *
+ * Each item keeps a sweep line: a +quantity delta at every rental start and a -quantity delta at
+ * every return date. A rental whose return date has passed without a return still holds its units.
+ * Rentals booked before windows were tracked have no start date; they took their units out of
+ * stock directly and are not part of the calendar.
+ */
+@Component
+public class RentalCalendar {
+    private static final Logger logger = LoggerFactory.getLogger(RentalCalendar.class);
+
+    @Autowired
+    private EquipmentTransactionRepository transactionRepository;
+
+    private final Map<Long, EquipmentRentals> rentalsByEquipment = new ConcurrentHashMap<>();
+    private final Map<Long, RentalSlot> slotsByTransaction = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        List<RentalSlot> slots = transactionRepository.findPendingRentalSlots();
+        slots.forEach(this::add);
+        logger.info("Loaded {} pending rentals across {} items", slots.size(), rentalsByEquipment.size());
+    }
+
+    /**
+     * The most units of the item rented out at any moment of [from, to).
+     */
+    public int peakRented(Long equipmentId, LocalDateTime from, LocalDateTime to) {
+        EquipmentRentals rentals = rentalsByEquipment.get(equipmentId);
+        return rentals == null ? 0 : rentals.peak(from, to, LocalDateTime.now());
+    }
+
+    public void add(RentalSlot slot) {
+        RentalSlot previous = slotsByTransaction.put(slot.getTransactionId(), slot);
+        if (previous != null) {
+            rentalsByEquipment.get(previous.getEquipmentId()).remove(previous);
+        }
+        rentalsByEquipment.computeIfAbsent(slot.getEquipmentId(), id -> new EquipmentRentals()).add(slot);
+    }
+
+    /**
+     * Replaces what the calendar holds for one item with the given pending rentals, read from the
+     * database, so rentals booked or returned through another node are counted.
+     */
+    public void reload(Long equipmentId, List<RentalSlot> slots) {
+        EquipmentRentals rentals = new EquipmentRentals();
+        slots.forEach(rentals::add);
+        EquipmentRentals previous = rentalsByEquipment.put(equipmentId, rentals);
+        if (previous != null) {
+            previous.slots().forEach(slot -> slotsByTransaction.remove(slot.getTransactionId(), slot));
+        }
+        slots.forEach(slot -> slotsByTransaction.put(slot.getTransactionId(), slot));
+    }
+
+    public RentalSlot remove(Long transactionId) {
+        RentalSlot previous = slotsByTransaction.remove(transactionId);
+        if (previous != null) {
+            rentalsByEquipment.get(previous.getEquipmentId()).remove(previous);
+        }
+        return previous;
+    }
+
+    private static final class EquipmentRentals {
+        private final TreeMap<LocalDateTime, Integer> deltas = new TreeMap<>();
+        private final Map<Long, RentalSlot> slots = new HashMap<>();
+
+        synchronized void add(RentalSlot slot) {
+            slots.put(slot.getTransactionId(), slot);
+            shift(slot.getStartTime(), slot.getQuantity());
+            shift(slot.getEndTime(), -slot.getQuantity());
+        }
+
+        synchronized void remove(RentalSlot slot) {
+            if (slots.remove(slot.getTransactionId()) != null) {
+                shift(slot.getStartTime(), -slot.getQuantity());
+                shift(slot.getEndTime(), slot.getQuantity());
+            }
+        }
+
+        synchronized List<RentalSlot> slots() {
+            return new ArrayList<>(slots.values());
+        }
+
+        synchronized int peak(LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+            // Overdue rentals still hold their units, so their return deltas must not count
+            TreeMap<LocalDateTime, Integer> overdue = new TreeMap<>();
+            for (RentalSlot slot : slots.values()) {
+                if (!slot.getEndTime().isAfter(now) && slot.getEndTime().isBefore(to)) {
+                    overdue.merge(slot.getEndTime(), slot.getQuantity(), Integer::sum);
+                }
+            }
+
+            // Units out at the start of the window, then the running total across it
+            int running = 0;
+            for (int delta : deltas.headMap(from, true).values()) {
+                running += delta;
+            }
+            for (int correction : overdue.headMap(from, true).values()) {
+                running += correction;
+            }
+
+            NavigableMap<LocalDateTime, Integer> window = deltas.subMap(from, false, to, false);
+            NavigableMap<LocalDateTime, Integer> corrections = overdue.subMap(from, false, to, false);
+            if (!corrections.isEmpty()) {
+                // Deltas that summed to zero are not stored, so sweep the union of both maps
+                TreeMap<LocalDateTime, Integer> merged = new TreeMap<>(window);
+                corrections.forEach((at, correction) -> merged.merge(at, correction, Integer::sum));
+                window = merged;
+            }
+            int peak = running;
+            for (int delta : window.values()) {
+                running += delta;
+                peak = Math.max(peak, running);
+            }
+            return peak;
+        }
+
+        private void shift(LocalDateTime at, int delta) {
+            deltas.merge(at, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+}
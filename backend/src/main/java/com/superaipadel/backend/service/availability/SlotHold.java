@@ -0,0 +1,69 @@
+package com.superaipadel.backend.service.availability;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A short-lived claim on a terrain interval, taken while the user completes checkout.
+ */
+public final class SlotHold implements Delayed {
+    private final String id;
+    private final Long userId;
+    private final Long terrainId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Instant expiresAt;
+
+    public SlotHold(String id, Long userId, Long terrainId, LocalDateTime startTime, LocalDateTime endTime, Instant expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.terrainId = terrainId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getTerrainId() {
+        return terrainId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startTime.isBefore(end) && endTime.isAfter(start);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(expiresAt.toEpochMilli() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
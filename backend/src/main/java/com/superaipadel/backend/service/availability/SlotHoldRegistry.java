@@ -0,0 +1,203 @@
+package com.superaipadel.backend.service.availability;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+
+/**
+ * In-memory registry of slot holds. Holds are never persisted: they expire after a fixed TTL and a
+ * single sweeper thread blocked on a {@link DelayQueue} removes them as they fall due.
+ *
+ * Placing a hold does not check availability; callers serialize placement with reservation creation
+ * on the terrain's lock. An expired hold never blocks a slot, even before the sweeper has reached it.
+ */
+@Component
+public class SlotHoldRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(SlotHoldRegistry.class);
+
+    @Value("${reservation.hold.ttlSeconds:120}")
+    private long ttlSeconds;
+
+    @Value("${reservation.hold.maxPerUser:3}")
+    private int maxPerUser;
+
+    @Autowired
+    private AvailabilityEventBus availabilityEventBus;
+
+    private final Map<String, SlotHold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, Set<SlotHold>> holdsByTerrain = new ConcurrentHashMap<>();
+    // Each user's set is only read or changed inside compute on its map entry; empty sets are removed
+    private final Map<Long, Set<SlotHold>> holdsByUser = new ConcurrentHashMap<>();
+    private final DelayQueue<SlotHold> expirations = new DelayQueue<>();
+
+    private Thread sweeper;
+
+    @PostConstruct
+    public void start() {
+        sweeper = new Thread(this::sweep, "slot-hold-sweeper");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.interrupt();
+    }
+
+    public SlotHold place(Long userId, Long terrainId, LocalDateTime start, LocalDateTime end) {
+        SlotHold hold = new SlotHold(UUID.randomUUID().toString(), userId, terrainId, start, end,
+                Instant.now().plusSeconds(ttlSeconds));
+        // Counted and added in one step under the user's map entry, so holds placed at once on
+        // different terrains cannot both slip under the limit
+        holdsByUser.compute(userId, (id, userHolds) -> {
+            Set<SlotHold> live = userHolds != null ? userHolds : new HashSet<>();
+            live.removeIf(SlotHold::isExpired);
+            if (live.size() >= maxPerUser) {
+                throw new IllegalStateException("Too many active holds");
+            }
+            live.add(hold);
+            return live;
+        });
+        holds.put(hold.getId(), hold);
+        holdsByTerrain.computeIfAbsent(terrainId, id -> ConcurrentHashMap.newKeySet()).add(hold);
+        expirations.add(hold);
+        availabilityEventBus.publish(terrainId, start, end);
+        return hold;
+    }
+
+    /**
+     * Removes and returns the user's live hold with the given id, or null if it does not exist,
+     * has expired or belongs to someone else.
+     */
+    public SlotHold claim(String holdId, Long userId) {
+        SlotHold hold = holds.get(holdId);
+        if (hold == null || !Objects.equals(hold.getUserId(), userId) || !unregister(hold)) {
+            return null;
+        }
+        return hold.isExpired() ? null : hold;
+    }
+
+    /**
+     * Puts back a hold claimed by a booking that did not go through, unless it has expired meanwhile.
+     */
+    public void restore(SlotHold hold) {
+        if (hold.isExpired() || holds.putIfAbsent(hold.getId(), hold) != null) {
+            return;
+        }
+        holdsByTerrain.computeIfAbsent(hold.getTerrainId(), id -> ConcurrentHashMap.newKeySet()).add(hold);
+        holdsByUser.compute(hold.getUserId(), (id, userHolds) -> {
+            Set<SlotHold> live = userHolds != null ? userHolds : new HashSet<>();
+            live.add(hold);
+            return live;
+        });
+        // The hold is still in the delay queue, but the sweeper may have taken it while it was claimed
+        if (hold.isExpired()) {
+            unregister(hold);
+            return;
+        }
+        availabilityEventBus.publish(hold.getTerrainId(), hold.getStartTime(), hold.getEndTime());
+    }
+
+    public boolean release(String holdId, Long userId) {
+        SlotHold hold = claim(holdId, userId);
+        if (hold == null) {
+            return false;
+        }
+        availabilityEventBus.publish(hold.getTerrainId(), hold.getStartTime(), hold.getEndTime());
+        return true;
+    }
+
+    /**
+     * Removes every hold on the terrain that overlaps the interval, whoever placed it, and returns
+     * how many were removed.
+     */
+    public int releaseOverlapping(Long terrainId, LocalDateTime start, LocalDateTime end) {
+        Set<SlotHold> terrainHolds = holdsByTerrain.get(terrainId);
+        if (terrainHolds == null) {
+            return 0;
+        }
+        int released = 0;
+        for (SlotHold hold : terrainHolds) {
+            if (hold.overlaps(start, end) && unregister(hold)) {
+                availabilityEventBus.publish(terrainId, hold.getStartTime(), hold.getEndTime());
+                released++;
+            }
+        }
+        return released;
+    }
+
+    public boolean isFree(Long terrainId, LocalDateTime start, LocalDateTime end) {
+        Set<SlotHold> terrainHolds = holdsByTerrain.get(terrainId);
+        if (terrainHolds == null) {
+            return true;
+        }
+        for (SlotHold hold : terrainHolds) {
+            if (hold.overlaps(start, end) && !hold.isExpired()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<SlotHold> findOverlapping(Long terrainId, LocalDateTime start, LocalDateTime end) {
+        Set<SlotHold> terrainHolds = holdsByTerrain.get(terrainId);
+        if (terrainHolds == null) {
+            return List.of();
+        }
+        List<SlotHold> result = new ArrayList<>();
+        for (SlotHold hold : terrainHolds) {
+            if (hold.overlaps(start, end) && !hold.isExpired()) {
+                result.add(hold);
+            }
+        }
+        return result;
+    }
+
+    // Returns false if the hold was already removed by a concurrent claim or the sweeper. Claimed holds
+    // stay in the delay queue, where removal is linear, and are skipped when they fall due.
+    private boolean unregister(SlotHold hold) {
+        if (!holds.remove(hold.getId(), hold)) {
+            return false;
+        }
+        Set<SlotHold> terrainHolds = holdsByTerrain.get(hold.getTerrainId());
+        if (terrainHolds != null) {
+            terrainHolds.remove(hold);
+        }
+        holdsByUser.computeIfPresent(hold.getUserId(), (id, userHolds) -> {
+            userHolds.remove(hold);
+            return userHolds.isEmpty() ? null : userHolds;
+        });
+        return true;
+    }
+
+    private void sweep() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                SlotHold hold = expirations.take();
+                if (unregister(hold)) {
+                    availabilityEventBus.publish(hold.getTerrainId(), hold.getStartTime(), hold.getEndTime());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.warn("Slot hold sweep failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.superaipadel.backend.service.availability;
+
+import com.superaipadel.backend.repository.TerrainRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches which facility each terrain belongs to, so hot paths can route by facility
+ * without loading the terrain.
+ */
+@Component
+public class TerrainDirectory {
+
+    @Autowired
+    private TerrainRepository terrainRepository;
+
+    private final Map<Long, Long> facilityByTerrain = new ConcurrentHashMap<>();
+
+    public Long facilityIdOf(Long terrainId) {
+        return facilityByTerrain.computeIfAbsent(terrainId,
+                id -> terrainRepository.findFacilityIdById(id).orElse(null));
+    }
+
+    public void evict(Long terrainId) {
+        facilityByTerrain.remove(terrainId);
+    }
+}
@@ -0,0 +1,218 @@
+package com.superaipadel.backend.service.availability;
+
+import com.superaipadel.backend.dto.projection.ReservationSlot;
+import com.superaipadel.backend.model.Reservation;
+import com.superaipadel.backend.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the non-cancelled reservations of every terrain, used to answer
+ * overlap queries without going to the database.
+ *
+ * Intervals are half-open: a reservation ending at 11:00 does not overlap one starting at 11:00.
+ * Only reservations ending after the horizon are indexed; callers must check
+ * {@link #covers(LocalDateTime)} and fall back to the repository for older windows. The horizon
+ * starts {@code reservation.index.lookbackDays} before startup and is moved forward by
+ * {@link #prune()}, which drops the slots that fell behind it.
+ */
+@Component
+public class TerrainIntervalIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TerrainIntervalIndex.class);
+
+    @Value("${reservation.index.lookbackDays:7}")
+    private int lookbackDays;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final Map<Long, TerrainSlots> terrains = new ConcurrentHashMap<>();
+    private final Map<Long, ReservationSlot> slotsByReservation = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime horizon = LocalDateTime.MAX;
+
+    @PostConstruct
+    public void load() {
+        LocalDateTime since = LocalDateTime.now().minusDays(lookbackDays);
+        List<ReservationSlot> slots = reservationRepository.findActiveSlotsEndingAfter(since);
+        slots.forEach(this::put);
+        horizon = since;
+        logger.info("Indexed {} reservations across {} terrains", slots.size(), terrains.size());
+    }
+
+    /**
+     * Whether a window starting at the given time is fully answered by the index.
+     */
+    public boolean covers(LocalDateTime start) {
+        return !start.isBefore(horizon);
+    }
+
+    public boolean isFree(Long terrainId, LocalDateTime start, LocalDateTime end) {
+        TerrainSlots slots = terrains.get(terrainId);
+        return slots == null || !slots.overlaps(start, end);
+    }
+
+    public List<ReservationSlot> findOverlapping(Long terrainId, LocalDateTime start, LocalDateTime end) {
+        TerrainSlots slots = terrains.get(terrainId);
+        return slots == null ? List.of() : slots.overlapping(start, end);
+    }
+
+    /**
+     * Indexes the reservation's current state and returns the slot it previously occupied, if any.
+     */
+    public ReservationSlot put(Reservation reservation) {
+        if (reservation.getId() == null || reservation.getTerrain() == null) {
+            return null;
+        }
+        if (reservation.getStatus() == Reservation.ReservationStatus.CANCELLED) {
+            return remove(reservation.getId());
+        }
+        return put(new ReservationSlot(reservation.getId(), reservation.getTerrain().getId(),
+                reservation.getStartTime(), reservation.getEndTime()));
+    }
+
+    public ReservationSlot put(ReservationSlot slot) {
+        ReservationSlot previous = slotsByReservation.put(slot.getReservationId(), slot);
+        if (previous != null) {
+            terrains.get(previous.getTerrainId()).remove(previous);
+        }
+        terrains.computeIfAbsent(slot.getTerrainId(), id -> new TerrainSlots()).add(slot);
+        return previous;
+    }
+
+    /**
+     * Moves the horizon to {@code lookbackDays} before now and drops the slots ending before it.
+     * Returns how many were dropped.
+     */
+    public int prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(lookbackDays);
+        // Moved first, so a window the index no longer answers goes to the repository before its slots are gone
+        horizon = cutoff;
+        int pruned = 0;
+        for (TerrainSlots slots : terrains.values()) {
+            for (ReservationSlot slot : slots.removeEndingBy(cutoff)) {
+                slotsByReservation.remove(slot.getReservationId(), slot);
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    public ReservationSlot remove(Long reservationId) {
+        ReservationSlot previous = slotsByReservation.remove(reservationId);
+        if (previous != null) {
+            terrains.get(previous.getTerrainId()).remove(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Slots of one terrain ordered by start time. Overlapping candidates for a window are found by
+     * scanning back from the window end by the longest duration ever indexed on this terrain.
+     */
+    private static final class TerrainSlots {
+        private final TreeSet<ReservationSlot> byStart = new TreeSet<>((a, b) -> {
+            int cmp = a.getStartTime().compareTo(b.getStartTime());
+            return cmp != 0 ? cmp : a.getReservationId().compareTo(b.getReservationId());
+        });
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private Duration maxDuration = Duration.ZERO;
+
+        void add(ReservationSlot slot) {
+            lock.writeLock().lock();
+            try {
+                byStart.add(slot);
+                Duration duration = Duration.between(slot.getStartTime(), slot.getEndTime());
+                if (duration.compareTo(maxDuration) > 0) {
+                    maxDuration = duration;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(ReservationSlot slot) {
+            lock.writeLock().lock();
+            try {
+                byStart.remove(slot);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Also shrinks the scan window back to the longest slot that is left
+        List<ReservationSlot> removeEndingBy(LocalDateTime cutoff) {
+            lock.writeLock().lock();
+            try {
+                List<ReservationSlot> removed = new ArrayList<>();
+                Duration longest = Duration.ZERO;
+                for (Iterator<ReservationSlot> it = byStart.iterator(); it.hasNext(); ) {
+                    ReservationSlot slot = it.next();
+                    if (!slot.getEndTime().isAfter(cutoff)) {
+                        it.remove();
+                        removed.add(slot);
+                        continue;
+                    }
+                    Duration duration = Duration.between(slot.getStartTime(), slot.getEndTime());
+                    if (duration.compareTo(longest) > 0) {
+                        longest = duration;
+                    }
+                }
+                maxDuration = longest;
+                return removed;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            lock.readLock().lock();
+            try {
+                for (ReservationSlot slot : candidates(start, end)) {
+                    if (slot.getEndTime().isAfter(start)) {
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<ReservationSlot> overlapping(LocalDateTime start, LocalDateTime end) {
+            lock.readLock().lock();
+            try {
+                List<ReservationSlot> result = new ArrayList<>();
+                for (ReservationSlot slot : candidates(start, end)) {
+                    if (slot.getEndTime().isAfter(start)) {
+                        result.add(slot);
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Iterable<ReservationSlot> candidates(LocalDateTime start, LocalDateTime end) {
+            ReservationSlot from = new ReservationSlot(Long.MIN_VALUE, null, start.minus(maxDuration), null);
+            ReservationSlot to = new ReservationSlot(Long.MIN_VALUE, null, end, null);
+            return byStart.subSet(from, true, to, false);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.superaipadel.backend.service.geo;
+
+import com.superaipadel.backend.dto.projection.FacilitySummary;
+import com.superaipadel.backend.repository.FacilityRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid of facility locations answering nearest-facility queries without going to the database.
+ *
+ * The globe is cut into square cells of {@code facility.geo.cellDegrees}; a query scans rings of cells
+ * around the origin and stops as soon as no unvisited cell can hold anything closer than the k-th hit.
+ * Cells are immutable arrays replaced on write, so readers never lock.
+ */
+@Component
+public class FacilityGeoIndex {
+    private static final Logger logger = LoggerFactory.getLogger(FacilityGeoIndex.class);
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final Point[] EMPTY = new Point[0];
+
+    @Value("${facility.geo.cellDegrees:0.1}")
+    private double cellDegrees;
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    private final Map<Long, Point[]> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Point> pointsByFacility = new ConcurrentHashMap<>();
+
+    private int rows;
+    private int columns;
+
+    @PostConstruct
+    public void load() {
+        rows = (int) Math.ceil(180 / cellDegrees);
+        columns = (int) Math.ceil(360 / cellDegrees);
+        List<FacilitySummary> facilities = facilityRepository.findSummariesWithLocation();
+        facilities.forEach(f -> put(f.getId(), f.getLatitude(), f.getLongitude()));
+        logger.info("Indexed {} facility locations in {} cells", pointsByFacility.size(), cells.size());
+    }
+
+    /**
+     * Indexes the facility at the given location, or drops it when either coordinate is missing.
+     */
+    public synchronized void put(Long facilityId, Double latitude, Double longitude) {
+        remove(facilityId);
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        Point point = new Point(facilityId, latitude, longitude, cellKey(row(latitude), column(longitude)));
+        pointsByFacility.put(facilityId, point);
+        cells.compute(point.cell, (key, points) -> {
+            Point[] updated = points == null ? new Point[1] : Arrays.copyOf(points, points.length + 1);
+            updated[updated.length - 1] = point;
+            return updated;
+        });
+    }
+
+    public synchronized void remove(Long facilityId) {
+        Point previous = pointsByFacility.remove(facilityId);
+        if (previous == null) {
+            return;
+        }
+        cells.computeIfPresent(previous.cell, (key, points) -> {
+            Point[] updated = Arrays.stream(points).filter(p -> p != previous).toArray(Point[]::new);
+            return updated.length == 0 ? null : updated;
+        });
+    }
+
+    /**
+     * Up to {@code limit} facilities within {@code radiusKm} of the origin, closest first.
+     */
+    public List<Hit> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates are out of range");
+        }
+        if (!(radiusKm > 0)) {
+            throw new IllegalArgumentException("The radius must be positive");
+        }
+
+        // Max-heap on distance holding the best hits seen so far
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::getDistanceKm).reversed());
+
+        int originRow = row(latitude);
+        int originColumn = column(longitude);
+        double maxLatitude = Math.min(90, Math.abs(latitude) + radiusKm / KM_PER_DEGREE);
+        // Narrowest cell width anywhere the search can reach, so ring bounds stay conservative near the poles
+        double cellKm = cellDegrees * KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(maxLatitude)), 1e-6);
+        int maxRing = (int) Math.min(Math.ceil(radiusKm / cellKm), Math.max(rows, columns));
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            scanRing(originRow, originColumn, ring, latitude, longitude, radiusKm, limit, best);
+            // Anything outside this ring is at least ring cells away along some axis
+            if (best.size() == limit && best.peek().getDistanceKm() <= ring * cellKm) {
+                break;
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return hits;
+    }
+
+    private void scanRing(int originRow, int originColumn, int ring, double latitude, double longitude,
+                          double radiusKm, int limit, PriorityQueue<Hit> best) {
+        for (int row = originRow - ring; row <= originRow + ring; row++) {
+            if (row < 0 || row >= rows) {
+                continue;
+            }
+            if (row == originRow - ring || row == originRow + ring) {
+                // First visit of this row: the whole span, or every column once the ring wraps the globe
+                if (2 * ring + 1 >= columns) {
+                    for (int column = 0; column < columns; column++) {
+                        scanCell(row, column, latitude, longitude, radiusKm, limit, best);
+                    }
+                } else {
+                    for (int offset = -ring; offset <= ring; offset++) {
+                        scanCell(row, Math.floorMod(originColumn + offset, columns), latitude, longitude, radiusKm, limit, best);
+                    }
+                }
+            } else if (2 * ring < columns) {
+                // Inner rows only gain their two side cells, unless those wrapped onto columns already seen
+                scanCell(row, Math.floorMod(originColumn + ring, columns), latitude, longitude, radiusKm, limit, best);
+                if (ring > 0) {
+                    scanCell(row, Math.floorMod(originColumn - ring, columns), latitude, longitude, radiusKm, limit, best);
+                }
+            } else if (2 * ring == columns) {
+                scanCell(row, Math.floorMod(originColumn + ring, columns), latitude, longitude, radiusKm, limit, best);
+            }
+        }
+    }
+
+    private void scanCell(int row, int column, double latitude, double longitude,
+                          double radiusKm, int limit, PriorityQueue<Hit> best) {
+        for (Point point : cells.getOrDefault(cellKey(row, column), EMPTY)) {
+            double distance = haversineKm(latitude, longitude, point.latitude, point.longitude);
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(point.facilityId, distance));
+            } else if (distance < best.peek().getDistanceKm()) {
+                best.poll();
+                best.add(new Hit(point.facilityId, distance));
+            }
+        }
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    public static final class Hit {
+        private final Long facilityId;
+        private final double distanceKm;
+
+        Hit(Long facilityId, double distanceKm) {
+            this.facilityId = facilityId;
+            this.distanceKm = distanceKm;
+        }
+
+        public Long getFacilityId() {
+            return facilityId;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+
+    private static final class Point {
+        private final Long facilityId;
+        private final double latitude;
+        private final double longitude;
+        private final long cell;
+
+        Point(Long facilityId, double latitude, double longitude, long cell) {
+            this.facilityId = facilityId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.superaipadel.backend.service.impl;
+
+import com.superaipadel.backend.dto.projection.ReservationSlot;
+import com.superaipadel.backend.dto.projection.TerrainSummary;
+import com.superaipadel.backend.dto.request.FreeSlotFilter;
+import com.superaipadel.backend.dto.response.AvailabilityGridResponse;
+import com.superaipadel.backend.dto.response.FreeSlotResponse;
+import com.superaipadel.backend.dto.response.NearbyFacilityResponse;
+import com.superaipadel.backend.model.Facility;
+import com.superaipadel.backend.model.Terrain;
+import com.superaipadel.backend.model.TerrainBlackout;
+import com.superaipadel.backend.repository.ReservationRepository;
+import com.superaipadel.backend.repository.TerrainRepository;
+import com.superaipadel.backend.service.AvailabilityService;
+import com.superaipadel.backend.service.FacilityService;
+import com.superaipadel.backend.service.PricingService;
+import com.superaipadel.backend.service.availability.BlackoutCalendar;
+import com.superaipadel.backend.service.availability.IntervalSet;
+import com.superaipadel.backend.service.availability.OpeningHoursCalendar;
+import com.superaipadel.backend.service.availability.SlotHold;
+import com.superaipadel.backend.service.availability.SlotHoldRegistry;
+import com.superaipadel.backend.service.availability.TerrainIntervalIndex;
+import com.superaipadel.backend.service.geo.FacilityGeoIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private static final Duration MIN_GRANULARITY = Duration.ofMinutes(5);
+    private static final int MAX_SLOTS = 2016;
+    private static final int MAX_NEARBY_CANDIDATES = 1000;
+    private static final Duration MAX_SEARCH_WINDOW = Duration.ofDays(7);
+
+    @Autowired
+    private FacilityService facilityService;
+
+    @Autowired
+    private TerrainRepository terrainRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TerrainIntervalIndex intervalIndex;
+
+    @Autowired
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private BlackoutCalendar blackoutCalendar;
+
+    @Autowired
+    private OpeningHoursCalendar openingHoursCalendar;
+
+    @Autowired
+    private FacilityGeoIndex geoIndex;
+
+    @Override
+    public AvailabilityGridResponse getFacilityGrid(Long facilityId, LocalDateTime from, LocalDateTime to, Duration granularity) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The start of the window must be before its end");
+        }
+        if (granularity.compareTo(MIN_GRANULARITY) < 0) {
+            throw new IllegalArgumentException("Granularity must be at least " + MIN_GRANULARITY.toMinutes() + " minutes");
+        }
+        long slotMinutes = granularity.toMinutes();
+        long windowMinutes = Duration.between(from, to).toMinutes();
+        int slotCount = (int) Math.min((windowMinutes + slotMinutes - 1) / slotMinutes, Integer.MAX_VALUE);
+        if (slotCount > MAX_SLOTS) {
+            throw new IllegalArgumentException("The requested grid exceeds " + MAX_SLOTS + " slots per terrain");
+        }
+
+        Facility facility = facilityService.findById(facilityId);
+        List<Terrain> terrains = terrainRepository.findByFacilityAndActive(facility, true);
+
+        // The in-memory index answers recent windows; older ones cost a single range query
+        Map<Long, List<ReservationSlot>> slotsByTerrain = null;
+        if (!intervalIndex.covers(from)) {
+            slotsByTerrain = reservationRepository.findSlotsByFacilityAndRange(facilityId, from, to).stream()
+                    .collect(Collectors.groupingBy(ReservationSlot::getTerrainId));
+        }
+
+        // Outside opening hours every terrain is taken; computed once for the facility
+        BitSet closed = new BitSet(slotCount);
+        openingHoursCalendar.forEachClosed(facilityId, from, to,
+                (start, end) -> mark(closed, from, windowMinutes, slotMinutes, start, end));
+
+        List<AvailabilityGridResponse.TerrainRow> rows = new ArrayList<>(terrains.size());
+        for (Terrain terrain : terrains) {
+            List<ReservationSlot> slots = slotsByTerrain != null
+                    ? slotsByTerrain.getOrDefault(terrain.getId(), List.of())
+                    : intervalIndex.findOverlapping(terrain.getId(), from, to);
+
+            BitSet occupied = (BitSet) closed.clone();
+            for (ReservationSlot slot : slots) {
+                mark(occupied, from, windowMinutes, slotMinutes, slot.getStartTime(), slot.getEndTime());
+            }
+            // Slots held during checkout are shown as taken
+            for (SlotHold hold : slotHoldRegistry.findOverlapping(terrain.getId(), from, to)) {
+                mark(occupied, from, windowMinutes, slotMinutes, hold.getStartTime(), hold.getEndTime());
+            }
+            for (TerrainBlackout blackout : blackoutCalendar.findOverlapping(terrain.getId(), from, to)) {
+                mark(occupied, from, windowMinutes, slotMinutes, blackout.getStartTime(), blackout.getEndTime());
+            }
+            rows.add(new AvailabilityGridResponse.TerrainRow(terrain.getId(), terrain.getName(), toBits(occupied, slotCount)));
+        }
+
+        return new AvailabilityGridResponse(facilityId, from, to, slotMinutes, slotCount, rows);
+    }
+
+    @Override
+    public List<NearbyFacilityResponse> findNearbyAvailable(double latitude, double longitude, double radiusKm, int limit,
+                                                            LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The start of the window must be before its end");
+        }
+        List<FacilityGeoIndex.Hit> candidates = geoIndex.nearest(latitude, longitude, radiusKm, MAX_NEARBY_CANDIDATES);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> free = findFacilitiesWithFreeTerrain(
+                candidates.stream().map(FacilityGeoIndex.Hit::getFacilityId).toList(), from, to);
+
+        List<FacilityGeoIndex.Hit> hits = new ArrayList<>(limit);
+        for (FacilityGeoIndex.Hit candidate : candidates) {
+            if (free.contains(candidate.getFacilityId())) {
+                hits.add(candidate);
+                if (hits.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return facilityService.describeNearby(hits);
+    }
+
+    @Override
+    public List<FreeSlotResponse> findFreeSlots(FreeSlotFilter filter) {
+        LocalDateTime from = filter.getFrom();
+        LocalDateTime to = filter.getTo();
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The start of the window must be before its end");
+        }
+        if (Duration.between(from, to).compareTo(MAX_SEARCH_WINDOW) > 0) {
+            throw new IllegalArgumentException("The search window cannot exceed " + MAX_SEARCH_WINDOW.toDays() + " days");
+        }
+        if (filter.getDuration().compareTo(MIN_GRANULARITY) < 0 || filter.getStep().compareTo(MIN_GRANULARITY) < 0) {
+            throw new IllegalArgumentException("Duration and step must be at least " + MIN_GRANULARITY.toMinutes() + " minutes");
+        }
+
+        List<TerrainSummary> terrains;
+        if (filter.getFacilityIds() != null && !filter.getFacilityIds().isEmpty()) {
+            terrains = terrainRepository.findActiveSummariesByFacilityIdIn(filter.getFacilityIds());
+        } else if (filter.getCity() != null && !filter.getCity().isBlank()) {
+            terrains = terrainRepository.findActiveSummariesByCity(filter.getCity());
+        } else {
+            throw new IllegalArgumentException("A city or at least one facility is required");
+        }
+        if (terrains.isEmpty()) {
+            return List.of();
+        }
+
+        // Same occupancy sources as the grid: the index for recent windows, otherwise one bulk range query
+        Map<Long, List<ReservationSlot>> slotsByTerrain = null;
+        if (!intervalIndex.covers(from)) {
+            List<Long> facilityIds = terrains.stream().map(TerrainSummary::getFacilityId).distinct().toList();
+            slotsByTerrain = reservationRepository.findSlotsByFacilitiesAndRange(facilityIds, from, to).stream()
+                    .collect(Collectors.groupingBy(ReservationSlot::getTerrainId));
+        }
+
+        // Each cursor yields its terrain's free slots in start order; a heap merges them across terrains
+        PriorityQueue<FreeSlotCursor> cursors = new PriorityQueue<>(terrains.size(), Comparator
+                .comparing(FreeSlotCursor::getStart)
+                .thenComparing(FreeSlotCursor::getPrice)
+                .thenComparing(cursor -> cursor.terrain.getId()));
+        for (TerrainSummary terrain : terrains) {
+            IntervalSet busy = new IntervalSet();
+            List<ReservationSlot> slots = slotsByTerrain != null
+                    ? slotsByTerrain.getOrDefault(terrain.getId(), List.of())
+                    : intervalIndex.findOverlapping(terrain.getId(), from, to);
+            slots.forEach(slot -> busy.add(slot.getStartTime(), slot.getEndTime()));
+            slotHoldRegistry.findOverlapping(terrain.getId(), from, to)
+                    .forEach(hold -> busy.add(hold.getStartTime(), hold.getEndTime()));
+            openingHoursCalendar.forEachClosed(terrain.getFacilityId(), from, to, busy::add);
+            blackoutCalendar.findOverlapping(terrain.getId(), from, to)
+                    .forEach(blackout -> busy.add(blackout.getStartTime(), blackout.getEndTime()));
+
+            // Priced the way the booking would be charged
+            FreeSlotCursor cursor = new FreeSlotCursor(terrain, busy, from, to, filter.getDuration(), filter.getStep(),
+                    (start, end) -> pricingService.quote(terrain.getId(), start, end, filter.isMember()));
+            if (cursor.seek(from)) {
+                cursors.add(cursor);
+            }
+        }
+
+        List<FreeSlotResponse> result = new ArrayList<>(filter.getLimit());
+        while (result.size() < filter.getLimit() && !cursors.isEmpty()) {
+            FreeSlotCursor cursor = cursors.poll();
+            LocalDateTime start = cursor.getStart();
+            result.add(new FreeSlotResponse(cursor.terrain.getFacilityId(), cursor.terrain.getFacilityName(),
+                    cursor.terrain.getId(), cursor.terrain.getName(), start, start.plus(cursor.duration), cursor.price));
+            if (cursor.seek(start.plus(cursor.step))) {
+                cursors.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    // One terrain query for all candidates; overlaps come from the index, or one range query for old windows
+    private Set<Long> findFacilitiesWithFreeTerrain(List<Long> facilityIds, LocalDateTime from, LocalDateTime to) {
+        List<TerrainSummary> terrains = terrainRepository.findActiveSummariesByFacilityIdIn(facilityIds);
+        Set<Long> busyTerrains = null;
+        if (!intervalIndex.covers(from)) {
+            busyTerrains = reservationRepository.findSlotsByFacilitiesAndRange(facilityIds, from, to).stream()
+                    .map(ReservationSlot::getTerrainId)
+                    .collect(Collectors.toSet());
+        }
+
+        Set<Long> free = new HashSet<>();
+        for (TerrainSummary terrain : terrains) {
+            if (free.contains(terrain.getFacilityId()) || !slotHoldRegistry.isFree(terrain.getId(), from, to)
+                    || !blackoutCalendar.isFree(terrain.getId(), from, to)
+                    || !openingHoursCalendar.isOpen(terrain.getFacilityId(), from, to)) {
+                continue;
+            }
+            boolean terrainFree = busyTerrains != null
+                    ? !busyTerrains.contains(terrain.getId())
+                    : intervalIndex.isFree(terrain.getId(), from, to);
+            if (terrainFree) {
+                free.add(terrain.getFacilityId());
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Walks one terrain's free slots. Candidate starts are aligned to the step from the window start,
+     * and a collision skips straight past the blocking interval instead of probing every step.
+     */
+    private static final class FreeSlotCursor {
+        private final TerrainSummary terrain;
+        private final IntervalSet busy;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final Duration duration;
+        private final Duration step;
+        private final BiFunction<LocalDateTime, LocalDateTime, BigDecimal> pricer;
+        private LocalDateTime start;
+        private BigDecimal price;
+
+        FreeSlotCursor(TerrainSummary terrain, IntervalSet busy, LocalDateTime from, LocalDateTime to,
+                       Duration duration, Duration step, BiFunction<LocalDateTime, LocalDateTime, BigDecimal> pricer) {
+            this.terrain = terrain;
+            this.busy = busy;
+            this.from = from;
+            this.to = to;
+            this.duration = duration;
+            this.step = step;
+            this.pricer = pricer;
+        }
+
+        LocalDateTime getStart() {
+            return start;
+        }
+
+        BigDecimal getPrice() {
+            return price;
+        }
+
+        /**
+         * Moves to the first free slot starting at or after the candidate; false when none fits the window.
+         */
+        boolean seek(LocalDateTime candidate) {
+            LocalDateTime next = align(candidate);
+            while (!next.plus(duration).isAfter(to)) {
+                LocalDateTime blockedUntil = busy.overlapEnd(next, next.plus(duration));
+                if (blockedUntil == null) {
+                    start = next;
+                    price = pricer.apply(next, next.plus(duration));
+                    return true;
+                }
+                next = align(blockedUntil);
+            }
+            return false;
+        }
+
+        private LocalDateTime align(LocalDateTime time) {
+            long stepSeconds = step.getSeconds();
+            long offset = Duration.between(from, time).getSeconds();
+            return from.plusSeconds((offset + stepSeconds - 1) / stepSeconds * stepSeconds);
+        }
+    }
+
+    private static void mark(BitSet occupied, LocalDateTime from, long windowMinutes, long slotMinutes,
+                             LocalDateTime start, LocalDateTime end) {
+        long startOffset = Math.max(0, Duration.between(from, start).toMinutes());
+        long endOffset = Math.min(windowMinutes, minutesCeil(Duration.between(from, end)));
+        occupied.set((int) (startOffset / slotMinutes), (int) ((endOffset + slotMinutes - 1) / slotMinutes));
+    }
+
+    private static long minutesCeil(Duration duration) {
+        long minutes = duration.toMinutes();
+        return duration.equals(Duration.ofMinutes(minutes)) ? minutes : minutes + 1;
+    }
+
+    private static String toBits(BitSet bits, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = bits.get(i) ? '1' : '0';
+        }
+        return new String(chars);
+    }
+}
@@ -6,7 +6,9 @@ import com.superaipadel.backend.repository.EquipmentRepository;
 import com.superaipadel.backend.service.EquipmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -26,6 +28,11 @@ public class EquipmentServiceImpl implements EquipmentService {
         return equipmentRepository.findAll();
     }
 
+    @Override
+    public List<Equipment> findAllById(Collection<Long> ids) {
+        return equipmentRepository.findAllById(ids);
+    }
+
     @Override
     public List<Equipment> findByFacility(Facility facility) {
         return equipmentRepository.findByFacility(facility);
@@ -72,16 +79,30 @@ public class EquipmentServiceImpl implements EquipmentService {
         equipmentRepository.deleteById(id);
     }
 
+    /**
+     * Locks the item's row until the surrounding transaction ends and returns its stock.
+     */
     @Override
+    @Transactional
+    public int lockStock(Long id) {
+        Integer stock = equipmentRepository.lockStockQuantity(id)
+                .orElseThrow(() -> new RuntimeException("Equipment not found with id: " + id));
+        return stock != null ? stock : 0;
+    }
+
+    @Override
+    @Transactional
     public void updateStock(Long id, Integer quantityChange) {
-        Equipment equipment = findById(id);
-        Integer newStock = equipment.getStockQuantity() + quantityChange;
+        // Applied in the database in one statement so concurrent changes are neither lost nor overdrawn
+        int updated = quantityChange < 0
+                ? equipmentRepository.decrementStock(id, -quantityChange)
+                : equipmentRepository.incrementStock(id, quantityChange);
         
-        if (newStock < 0) {
-            throw new RuntimeException("Cannot reduce stock below zero");
+        if (updated == 0) {
+            if (!equipmentRepository.existsById(id)) {
+                throw new RuntimeException("Equipment not found with id: " + id);
+            }
+            throw new RuntimeException("Not enough stock available");
         }
-        
-        equipment.setStockQuantity(newStock);
-        equipmentRepository.save(equipment);
     }
 }
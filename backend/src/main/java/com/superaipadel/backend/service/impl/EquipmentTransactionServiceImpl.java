@@ -1,18 +1,33 @@
 package com.superaipadel.backend.service.impl;
 
+import com.superaipadel.backend.dto.projection.EquipmentTransactionSummary;
+import com.superaipadel.backend.dto.projection.RentalSlot;
+import com.superaipadel.backend.dto.request.CartCheckoutRequest;
+import com.superaipadel.backend.dto.response.KeysetPageResponse;
+import com.superaipadel.backend.dto.response.RentalAvailabilityResponse;
 import com.superaipadel.backend.model.Equipment;
 import com.superaipadel.backend.model.EquipmentTransaction;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.repository.EquipmentTransactionRepository;
 import com.superaipadel.backend.service.EquipmentService;
 import com.superaipadel.backend.service.EquipmentTransactionService;
+import com.superaipadel.backend.service.availability.RentalCalendar;
+import com.superaipadel.backend.util.KeysetCursor;
+import com.superaipadel.backend.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class EquipmentTransactionServiceImpl implements EquipmentTransactionService {
@@ -22,6 +37,9 @@ public class EquipmentTransactionServiceImpl implements EquipmentTransactionServ
     
     @Autowired
     private EquipmentService equipmentService;
+    
+    @Autowired
+    private RentalCalendar rentalCalendar;
 
     @Override
     public EquipmentTransaction findById(Long id) {
@@ -29,6 +47,57 @@ public class EquipmentTransactionServiceImpl implements EquipmentTransactionServ
                 .orElseThrow(() -> new RuntimeException("Equipment transaction not found with id: " + id));
     }
 
+    @Override
+    public EquipmentTransactionSummary findSummaryById(Long id) {
+        return transactionRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Equipment transaction not found with id: " + id));
+    }
+
+    @Override
+    public List<EquipmentTransactionSummary> findSummariesByUserId(Long userId) {
+        return transactionRepository.findSummariesByUserId(userId);
+    }
+
+    @Override
+    public List<EquipmentTransactionSummary> findActiveRentalSummariesByUserId(Long userId) {
+        return transactionRepository.findActiveRentalSummariesByUserId(userId);
+    }
+
+    @Override
+    public List<EquipmentTransactionSummary> findSummariesByFacilityId(Long facilityId) {
+        return transactionRepository.findSummariesByFacilityId(facilityId);
+    }
+
+    @Override
+    public KeysetPageResponse<EquipmentTransactionSummary> findOverdueByFacilityId(Long facilityId, String cursor, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        // Fetch one extra row to know whether another page follows
+        PageRequest page = PageRequest.of(0, limit + 1);
+        
+        List<EquipmentTransactionSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findOverdueSummariesByFacilityId(facilityId, now, page);
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            LocalDateTime afterReturnDate;
+            Long afterId;
+            try {
+                afterReturnDate = LocalDateTime.parse(keys[0]);
+                afterId = Long.valueOf(keys[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            rows = transactionRepository.findOverdueSummariesByFacilityIdAfter(facilityId, now, afterReturnDate, afterId, page);
+        }
+        
+        if (rows.size() <= limit) {
+            return new KeysetPageResponse<>(rows, null);
+        }
+        List<EquipmentTransactionSummary> items = rows.subList(0, limit);
+        EquipmentTransactionSummary last = items.get(limit - 1);
+        return new KeysetPageResponse<>(items, KeysetCursor.encode(last.getReturnDate(), last.getId()));
+    }
+
     @Override
     public List<EquipmentTransaction> findAll() {
         return transactionRepository.findAll();
@@ -77,14 +146,142 @@ public class EquipmentTransactionServiceImpl implements EquipmentTransactionServ
     @Override
     @Transactional
     public EquipmentTransaction purchaseEquipment(User user, Equipment equipment, Integer quantity) {
+        EquipmentTransaction transaction = newPurchase(user, equipment, quantity);
+        reserve(equipment.getId(), List.of(transaction));
+        return transaction;
+    }
+
+    @Override
+    @Transactional
+    public EquipmentTransaction rentEquipment(User user, Equipment equipment, Integer quantity, LocalDateTime returnDate) {
+        return rentEquipment(user, equipment, quantity, LocalDateTime.now(), returnDate);
+    }
+
+    @Override
+    @Transactional
+    public EquipmentTransaction rentEquipment(User user, Equipment equipment, Integer quantity,
+                                              LocalDateTime startDate, LocalDateTime returnDate) {
+        EquipmentTransaction transaction = newRental(user, equipment, quantity, startDate, returnDate);
+        reserve(equipment.getId(), List.of(transaction));
+        return transaction;
+    }
+
+    @Override
+    @Transactional
+    public List<EquipmentTransaction> checkout(User user, List<CartCheckoutRequest.CartLine> lines) {
+        // Every item of the cart in one query
+        Set<Long> equipmentIds = lines.stream().map(CartCheckoutRequest.CartLine::getEquipmentId).collect(Collectors.toSet());
+        Map<Long, Equipment> equipmentById = equipmentService.findAllById(equipmentIds).stream()
+                .collect(Collectors.toMap(Equipment::getId, Function.identity()));
+        
+        List<EquipmentTransaction> transactions = new ArrayList<>(lines.size());
+        Map<Long, List<EquipmentTransaction>> transactionsByEquipment = new TreeMap<>();
+        for (CartCheckoutRequest.CartLine line : lines) {
+            Equipment equipment = equipmentById.get(line.getEquipmentId());
+            if (equipment == null) {
+                throw new RuntimeException("Equipment not found with id: " + line.getEquipmentId());
+            }
+            EquipmentTransaction transaction;
+            if (line.getType() == EquipmentTransaction.TransactionType.RENTAL) {
+                if (line.getReturnDate() == null) {
+                    throw new RuntimeException("A return date is required for rentals");
+                }
+                LocalDateTime now = LocalDateTime.now();
+                if (line.getStartDate() != null && line.getStartDate().isBefore(now)) {
+                    throw new RuntimeException("A rental cannot start in the past");
+                }
+                LocalDateTime startDate = line.getStartDate() != null ? line.getStartDate() : now;
+                transaction = newRental(user, equipment, line.getQuantity(), startDate, line.getReturnDate());
+            } else {
+                transaction = newPurchase(user, equipment, line.getQuantity());
+            }
+            transactions.add(transaction);
+            transactionsByEquipment.computeIfAbsent(equipment.getId(), id -> new ArrayList<>()).add(transaction);
+        }
+        
+        // Items are reserved in ascending id order so that concurrent carts lock rows in the same
+        // order and cannot deadlock. Any shortfall rolls back the whole cart.
+        transactionsByEquipment.forEach(this::reserve);
+        
+        return transactions;
+    }
+
+    @Override
+    public RentalAvailabilityResponse getRentalAvailability(Long equipmentId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The start of the window must be before its end");
+        }
+        int stock = equipmentService.findById(equipmentId).getStockQuantity();
+        int rented = rentalCalendar.peakRented(equipmentId, from, to);
+        return new RentalAvailabilityResponse(equipmentId, from, to, stock, rented, Math.max(0, stock - rented));
+    }
+
+    /**
+     * Takes stock for the purchases and calendar windows for the rentals of one item, then persists
+     * them. Must run inside the caller's transaction: the item's row lock, held until commit,
+     * serializes reservations of the item on every node. Once it is held, the item's pending rentals
+     * are reloaded from the database, so the calendar checks also count rentals committed by other
+     * nodes. Carts take the row locks in ascending id order.
+     */
+    private void reserve(Long equipmentId, List<EquipmentTransaction> transactions) {
+        int stock = equipmentService.lockStock(equipmentId);
+        rentalCalendar.reload(equipmentId, transactionRepository.findPendingRentalSlotsByEquipmentId(equipmentId));
+        
+        // Units sold must not be promised to a rental still to come
+        int purchased = 0;
+        for (EquipmentTransaction transaction : transactions) {
+            if (transaction.getType() == EquipmentTransaction.TransactionType.PURCHASE) {
+                purchased += transaction.getQuantity();
+            }
+        }
+        if (purchased > 0) {
+            LocalDateTime now = LocalDateTime.now();
+            if (stock - purchased < rentalCalendar.peakRented(equipmentId, now, LocalDateTime.MAX)) {
+                throw new RuntimeException("Not enough stock available");
+            }
+            equipmentService.updateStock(equipmentId, -purchased);
+            stock -= purchased;
+        }
+        
+        for (EquipmentTransaction transaction : transactions) {
+            // With sequence ids the insert itself is deferred to the batched flush
+            transactionRepository.save(transaction);
+            if (transaction.getType() != EquipmentTransaction.TransactionType.RENTAL) {
+                continue;
+            }
+            RentalSlot slot = toSlot(transaction);
+            if (rentalCalendar.peakRented(equipmentId, slot.getStartTime(), slot.getEndTime()) + slot.getQuantity() > stock) {
+                throw new RuntimeException("Not enough stock available for the requested period");
+            }
+            rentalCalendar.add(slot);
+            TransactionCallbacks.afterRollback(() -> rentalCalendar.remove(slot.getTransactionId()));
+        }
+    }
+
+    // Units come back to the shelf: legacy rentals restore the stock they took, windowed rentals
+    // free their calendar slot once the change is committed
+    private void release(EquipmentTransaction transaction) {
+        if (transaction.getRentalStartDate() == null) {
+            equipmentService.updateStock(transaction.getEquipment().getId(), transaction.getQuantity());
+        } else {
+            Long transactionId = transaction.getId();
+            TransactionCallbacks.afterCommit(() -> rentalCalendar.remove(transactionId));
+        }
+    }
+
+    private static RentalSlot toSlot(EquipmentTransaction transaction) {
+        return new RentalSlot(transaction.getId(), transaction.getEquipment().getId(), transaction.getQuantity(),
+                transaction.getRentalStartDate(), transaction.getReturnDate());
+    }
+
+    private static EquipmentTransaction newPurchase(User user, Equipment equipment, Integer quantity) {
         // Check if equipment is available for purchase
         if (!equipment.getAvailableForPurchase()) {
             throw new RuntimeException("Equipment is not available for purchase");
         }
         
-        // Check if enough stock is available
-        if (equipment.getStockQuantity() < quantity) {
-            throw new RuntimeException("Not enough stock available");
+        if (quantity == null || quantity <= 0) {
+            throw new RuntimeException("Quantity must be positive");
         }
         
         // Create transaction
@@ -97,24 +294,22 @@ public class EquipmentTransactionServiceImpl implements EquipmentTransactionServ
         transaction.setTotalAmount(equipment.getPurchasePrice().multiply(BigDecimal.valueOf(quantity)));
         transaction.setStatus(EquipmentTransaction.TransactionStatus.COMPLETED);
         transaction.setTransactionDate(LocalDateTime.now());
-        
-        // Update equipment stock
-        equipmentService.updateStock(equipment.getId(), -quantity);
-        
-        return transactionRepository.save(transaction);
+        return transaction;
     }
 
-    @Override
-    @Transactional
-    public EquipmentTransaction rentEquipment(User user, Equipment equipment, Integer quantity, LocalDateTime returnDate) {
+    private static EquipmentTransaction newRental(User user, Equipment equipment, Integer quantity,
+                                                  LocalDateTime startDate, LocalDateTime returnDate) {
         // Check if equipment is available for rental
         if (!equipment.getAvailableForRental()) {
             throw new RuntimeException("Equipment is not available for rental");
         }
         
-        // Check if enough stock is available
-        if (equipment.getStockQuantity() < quantity) {
-            throw new RuntimeException("Not enough stock available");
+        if (quantity == null || quantity <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
+        
+        if (startDate == null || returnDate == null || !startDate.isBefore(returnDate)) {
+            throw new RuntimeException("The rental must start before its return date");
         }
         
         // Create transaction
@@ -127,12 +322,9 @@ public class EquipmentTransactionServiceImpl implements EquipmentTransactionServ
         transaction.setTotalAmount(equipment.getRentalPrice().multiply(BigDecimal.valueOf(quantity)));
         transaction.setStatus(EquipmentTransaction.TransactionStatus.PENDING);
         transaction.setTransactionDate(LocalDateTime.now());
+        transaction.setRentalStartDate(startDate);
         transaction.setReturnDate(returnDate);
-        
-        // Update equipment stock
-        equipmentService.updateStock(equipment.getId(), -quantity);
-        
-        return transactionRepository.save(transaction);
+        return transaction;
     }
 
     @Override
@@ -155,7 +347,7 @@ public class EquipmentTransactionServiceImpl implements EquipmentTransactionServ
         transaction.setStatus(EquipmentTransaction.TransactionStatus.RETURNED);
         
         // Return items to inventory
-        equipmentService.updateStock(transaction.getEquipment().getId(), transaction.getQuantity());
+        release(transaction);
         
         return transactionRepository.save(transaction);
     }
@@ -176,7 +368,7 @@ public class EquipmentTransactionServiceImpl implements EquipmentTransactionServ
         transaction.setStatus(EquipmentTransaction.TransactionStatus.CANCELLED);
         
         // Return items to inventory
-        equipmentService.updateStock(transaction.getEquipment().getId(), transaction.getQuantity());
+        release(transaction);
         
         return transactionRepository.save(transaction);
     }
@@ -1,13 +1,32 @@
 package com.superaipadel.backend.service.impl;
 
+import com.superaipadel.backend.dto.projection.FacilitySummary;
+import com.superaipadel.backend.dto.request.OpeningHoursRequest;
+import com.superaipadel.backend.dto.response.NearbyFacilityResponse;
+import com.superaipadel.backend.dto.response.OpeningHoursResponse;
 import com.superaipadel.backend.model.Facility;
+import com.superaipadel.backend.model.OpeningOverride;
+import com.superaipadel.backend.model.OpeningPeriod;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.repository.FacilityRepository;
+import com.superaipadel.backend.repository.OpeningOverrideRepository;
+import com.superaipadel.backend.repository.OpeningPeriodRepository;
 import com.superaipadel.backend.service.FacilityService;
+import com.superaipadel.backend.service.availability.OpeningHoursCalendar;
+import com.superaipadel.backend.service.geo.FacilityGeoIndex;
+import com.superaipadel.backend.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class FacilityServiceImpl implements FacilityService {
@@ -15,12 +34,70 @@ public class FacilityServiceImpl implements FacilityService {
     @Autowired
     private FacilityRepository facilityRepository;
 
+    @Autowired
+    private OpeningPeriodRepository openingPeriodRepository;
+
+    @Autowired
+    private OpeningOverrideRepository openingOverrideRepository;
+
+    @Autowired
+    private FacilityGeoIndex geoIndex;
+
+    @Autowired
+    private OpeningHoursCalendar openingHoursCalendar;
+
     @Override
     public Facility findById(Long id) {
         return facilityRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Facility not found with id: " + id));
     }
 
+    @Override
+    public FacilitySummary findSummaryById(Long id) {
+        return facilityRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Facility not found with id: " + id));
+    }
+
+    @Override
+    public List<FacilitySummary> findAllSummaries() {
+        return facilityRepository.findAllSummaries();
+    }
+
+    @Override
+    public List<FacilitySummary> findSummariesByCity(String city) {
+        return facilityRepository.findSummariesByCity(city);
+    }
+
+    @Override
+    public List<FacilitySummary> findSummariesByOwnerId(Long ownerId) {
+        return facilityRepository.findSummariesByOwnerId(ownerId);
+    }
+
+    @Override
+    public List<NearbyFacilityResponse> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        return describeNearby(geoIndex.nearest(latitude, longitude, radiusKm, limit));
+    }
+
+    @Override
+    public List<NearbyFacilityResponse> describeNearby(List<FacilityGeoIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, FacilitySummary> summaries = facilityRepository.findSummariesByIdIn(
+                hits.stream().map(FacilityGeoIndex.Hit::getFacilityId).toList()).stream()
+                .collect(Collectors.toMap(FacilitySummary::getId, Function.identity()));
+
+        // Keep the index's distance order; a facility deleted since the lookup is skipped
+        List<NearbyFacilityResponse> nearby = new ArrayList<>(hits.size());
+        for (FacilityGeoIndex.Hit hit : hits) {
+            FacilitySummary summary = summaries.get(hit.getFacilityId());
+            if (summary != null) {
+                nearby.add(new NearbyFacilityResponse(summary, hit.getDistanceKm()));
+            }
+        }
+        return nearby;
+    }
+
     @Override
     public List<Facility> findAll() {
         return facilityRepository.findAll();
@@ -38,7 +115,9 @@ public class FacilityServiceImpl implements FacilityService {
 
     @Override
     public Facility save(Facility facility) {
-        return facilityRepository.save(facility);
+        Facility saved = facilityRepository.save(facility);
+        geoIndex.put(saved.getId(), saved.getLatitude(), saved.getLongitude());
+        return saved;
     }
 
     @Override
@@ -53,12 +132,70 @@ public class FacilityServiceImpl implements FacilityService {
         facility.setContactPhone(facilityDetails.getContactPhone());
         facility.setContactEmail(facilityDetails.getContactEmail());
         facility.setOpeningHours(facilityDetails.getOpeningHours());
+        facility.setLatitude(facilityDetails.getLatitude());
+        facility.setLongitude(facilityDetails.getLongitude());
         
-        return facilityRepository.save(facility);
+        return save(facility);
     }
 
     @Override
+    public OpeningHoursResponse getOpeningHours(Long id) {
+        findSummaryById(id);
+        return OpeningHoursResponse.from(id,
+                openingPeriodRepository.findByFacilityId(id), openingOverrideRepository.findByFacilityId(id));
+    }
+
+    @Override
+    @Transactional
+    public OpeningHoursResponse replaceOpeningHours(Long id, OpeningHoursRequest request) {
+        findSummaryById(id);
+
+        List<OpeningPeriod> periods = new ArrayList<>();
+        if (request.getWeekly() != null) {
+            for (OpeningHoursRequest.Period period : request.getWeekly()) {
+                if (period.getDayOfWeek() == null || period.getOpenTime() == null || period.getCloseTime() == null) {
+                    throw new IllegalArgumentException("Every opening period needs a day, an open time and a close time");
+                }
+                if (period.getOpenTime().equals(period.getCloseTime())) {
+                    throw new IllegalArgumentException("An opening period cannot open and close at the same time");
+                }
+                periods.add(new OpeningPeriod(null, id, period.getDayOfWeek(), period.getOpenTime(), period.getCloseTime()));
+            }
+        }
+
+        List<OpeningOverride> overrides = new ArrayList<>();
+        Set<LocalDate> dates = new HashSet<>();
+        if (request.getOverrides() != null) {
+            for (OpeningHoursRequest.DateOverride override : request.getOverrides()) {
+                if (override.getDate() == null || !dates.add(override.getDate())) {
+                    throw new IllegalArgumentException("Every exception date must be given once");
+                }
+                if ((override.getOpenTime() == null) != (override.getCloseTime() == null)) {
+                    throw new IllegalArgumentException("An exception date needs both an open and a close time, or neither");
+                }
+                overrides.add(new OpeningOverride(null, id, override.getDate(),
+                        override.getOpenTime(), override.getCloseTime(), override.getReason()));
+            }
+        }
+
+        openingPeriodRepository.deleteByFacilityId(id);
+        openingOverrideRepository.deleteByFacilityId(id);
+        List<OpeningPeriod> savedPeriods = openingPeriodRepository.saveAll(periods);
+        List<OpeningOverride> savedOverrides = openingOverrideRepository.saveAll(overrides);
+        TransactionCallbacks.afterCommit(() -> openingHoursCalendar.evict(id));
+        return OpeningHoursResponse.from(id, savedPeriods, savedOverrides);
+    }
+
+    @Override
+    @Transactional
     public void deleteById(Long id) {
+        openingPeriodRepository.deleteByFacilityId(id);
+        openingOverrideRepository.deleteByFacilityId(id);
         facilityRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> {
+            geoIndex.remove(id);
+            openingHoursCalendar.evict(id);
+        });
     }
+
 }
@@ -0,0 +1,165 @@
+package com.superaipadel.backend.service.impl;
+
+import com.superaipadel.backend.dto.projection.TerrainSummary;
+import com.superaipadel.backend.dto.request.PricingRuleRequest;
+import com.superaipadel.backend.dto.response.PriceGridResponse;
+import com.superaipadel.backend.model.PricingRule;
+import com.superaipadel.backend.repository.PricingRuleRepository;
+import com.superaipadel.backend.repository.TerrainRepository;
+import com.superaipadel.backend.service.PricingService;
+import com.superaipadel.backend.service.availability.TerrainDirectory;
+import com.superaipadel.backend.service.pricing.PriceTable;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Quotes from per-terrain price tables compiled from the terrain rates and the pricing rules. The
+ * tables are swapped as one immutable snapshot whenever a rule or a terrain changes, so quotes never
+ * touch the database and never see a half-applied change.
+ */
+@Service
+public class PricingServiceImpl implements PricingService {
+    private static final Logger logger = LoggerFactory.getLogger(PricingServiceImpl.class);
+
+    private static final Duration MIN_GRANULARITY = Duration.ofMinutes(5);
+    private static final int MAX_SLOTS = 2016;
+
+    // Facility rules first, then the terrain's own; later rules override earlier ones
+    private static final Comparator<PricingRule> PRECEDENCE = Comparator
+            .comparing((PricingRule rule) -> rule.getTerrainId() != null)
+            .thenComparingInt(PricingRule::getPriority)
+            .thenComparing(PricingRule::getId);
+
+    @Autowired
+    private PricingRuleRepository pricingRuleRepository;
+
+    @Autowired
+    private TerrainRepository terrainRepository;
+
+    @Autowired
+    private TerrainDirectory terrainDirectory;
+
+    private final AtomicReference<Map<Long, PriceTable>> tables = new AtomicReference<>(Map.of());
+
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    @Override
+    public synchronized void reload() {
+        List<TerrainSummary> terrains = terrainRepository.findAllSummaries();
+        Map<Long, List<PricingRule>> rulesByFacility = pricingRuleRepository.findAll().stream()
+                .collect(Collectors.groupingBy(PricingRule::getFacilityId));
+
+        Map<Long, PriceTable> compiled = new HashMap<>();
+        for (TerrainSummary terrain : terrains) {
+            List<PricingRule> rules = rulesByFacility.getOrDefault(terrain.getFacilityId(), List.of()).stream()
+                    .filter(rule -> rule.getTerrainId() == null || rule.getTerrainId().equals(terrain.getId()))
+                    .sorted(PRECEDENCE)
+                    .toList();
+            compiled.put(terrain.getId(), PriceTable.compile(terrain.getPricePerHour(), rules));
+        }
+        tables.set(Map.copyOf(compiled));
+        logger.info("Compiled price tables for {} terrains", compiled.size());
+    }
+
+    @Override
+    public BigDecimal quote(Long terrainId, LocalDateTime start, LocalDateTime end, boolean member) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("The start of the window must be before its end");
+        }
+        return table(terrainId).price(start, end, member);
+    }
+
+    @Override
+    public PriceGridResponse quoteGrid(Long facilityId, LocalDateTime from, LocalDateTime to, Duration granularity, boolean member) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The start of the window must be before its end");
+        }
+        if (granularity.compareTo(MIN_GRANULARITY) < 0) {
+            throw new IllegalArgumentException("Granularity must be at least " + MIN_GRANULARITY.toMinutes() + " minutes");
+        }
+        long slotMinutes = granularity.toMinutes();
+        long windowMinutes = Duration.between(from, to).toMinutes();
+        int slotCount = (int) Math.min((windowMinutes + slotMinutes - 1) / slotMinutes, Integer.MAX_VALUE);
+        if (slotCount > MAX_SLOTS) {
+            throw new IllegalArgumentException("The requested grid exceeds " + MAX_SLOTS + " slots per terrain");
+        }
+
+        List<TerrainSummary> terrains = terrainRepository.findSummariesByFacilityIdAndActive(facilityId, true);
+        List<PriceGridResponse.TerrainRow> rows = new ArrayList<>(terrains.size());
+        for (TerrainSummary terrain : terrains) {
+            PriceTable table = table(terrain.getId());
+            List<BigDecimal> prices = new ArrayList<>(slotCount);
+            for (int slot = 0; slot < slotCount; slot++) {
+                LocalDateTime start = from.plusMinutes(slot * slotMinutes);
+                LocalDateTime end = start.plusMinutes(slotMinutes);
+                prices.add(table.price(start, end.isAfter(to) ? to : end, member));
+            }
+            rows.add(new PriceGridResponse.TerrainRow(terrain.getId(), terrain.getName(), prices));
+        }
+        return new PriceGridResponse(facilityId, from, to, slotMinutes, slotCount, member, rows);
+    }
+
+    @Override
+    public List<PricingRule> findRules(Long facilityId) {
+        return pricingRuleRepository.findByFacilityId(facilityId);
+    }
+
+    @Override
+    public PricingRule createRule(Long facilityId, PricingRuleRequest request) {
+        if (request.getTerrainId() != null && !facilityId.equals(terrainDirectory.facilityIdOf(request.getTerrainId()))) {
+            throw new IllegalArgumentException("The terrain does not belong to this facility");
+        }
+        LocalTime start = request.getStartTime();
+        LocalTime end = request.getEndTime();
+        if (!end.equals(LocalTime.MIDNIGHT) && !end.isAfter(start)) {
+            throw new IllegalArgumentException("A pricing rule must end after it starts, or at midnight");
+        }
+
+        int dayMask = 0;
+        for (DayOfWeek day : request.getDays()) {
+            dayMask |= 1 << (day.getValue() - 1);
+        }
+        PricingRule rule = new PricingRule(null, facilityId, request.getTerrainId(), dayMask, start, end,
+                request.getPricePerHour(), request.getAudience() != null ? request.getAudience() : PricingRule.Audience.ALL,
+                request.getPriority());
+        PricingRule saved = pricingRuleRepository.save(rule);
+        reload();
+        return saved;
+    }
+
+    @Override
+    public void deleteRule(Long facilityId, Long ruleId) {
+        PricingRule rule = pricingRuleRepository.findById(ruleId)
+                .filter(r -> r.getFacilityId().equals(facilityId))
+                .orElseThrow(() -> new RuntimeException("Pricing rule not found with id: " + ruleId));
+        pricingRuleRepository.delete(rule);
+        reload();
+    }
+
+    private PriceTable table(Long terrainId) {
+        PriceTable table = tables.get().get(terrainId);
+        if (table == null) {
+            throw new RuntimeException("Terrain not found with id: " + terrainId);
+        }
+        return table;
+    }
+}
@@ -1,21 +1,106 @@
 package com.superaipadel.backend.service.impl;
 
+import com.superaipadel.backend.dto.projection.ReservationSlot;
+import com.superaipadel.backend.dto.projection.ReservationSummary;
+import com.superaipadel.backend.dto.request.BulkReservationRequest;
+import com.superaipadel.backend.dto.request.ReservationFilter;
+import com.superaipadel.backend.dto.request.TerrainBlackoutRequest;
+import com.superaipadel.backend.dto.response.BulkReservationResponse;
+import com.superaipadel.backend.dto.response.KeysetPageResponse;
+import com.superaipadel.backend.dto.response.TerrainBlackoutResponse;
+import com.superaipadel.backend.exception.SlotUnavailableException;
 import com.superaipadel.backend.model.Reservation;
 import com.superaipadel.backend.model.Terrain;
+import com.superaipadel.backend.model.TerrainBlackout;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.repository.ReservationRepository;
+import com.superaipadel.backend.repository.TerrainBlackoutRepository;
+import com.superaipadel.backend.repository.TokenRefundRepository;
+import com.superaipadel.backend.service.PricingService;
 import com.superaipadel.backend.service.ReservationService;
+import com.superaipadel.backend.service.UserTokenService;
+import com.superaipadel.backend.service.availability.AvailabilityEventBus;
+import com.superaipadel.backend.service.availability.BlackoutCalendar;
+import com.superaipadel.backend.service.availability.IntervalSet;
+import com.superaipadel.backend.service.availability.OpeningHoursCalendar;
+import com.superaipadel.backend.service.availability.SlotHold;
+import com.superaipadel.backend.service.availability.SlotHoldRegistry;
+import com.superaipadel.backend.service.availability.TerrainDirectory;
+import com.superaipadel.backend.service.availability.TerrainIntervalIndex;
+import com.superaipadel.backend.util.KeysetCursor;
+import com.superaipadel.backend.util.StripedLocks;
+import com.superaipadel.backend.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ReservationServiceImpl implements ReservationService {
 
+    // SQLSTATE raised by Postgres when the reservations_no_overlap exclusion constraint or the
+    // reservations_no_blackout trigger rejects a row
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    
+    private static final int MAX_BULK_OCCURRENCES = 200;
+    
+    // Price one token stands for when a booking is paid in tokens
+    @Value("${reservation.tokenValue:10.00}")
+    private BigDecimal tokenValue;
+
     @Autowired
     private ReservationRepository reservationRepository;
+    
+    @Autowired
+    private TerrainBlackoutRepository blackoutRepository;
+    
+    @Autowired
+    private TokenRefundRepository tokenRefundRepository;
+    
+    @Autowired
+    private TerrainIntervalIndex intervalIndex;
+    
+    @Autowired
+    private AvailabilityEventBus availabilityEventBus;
+    
+    @Autowired
+    private SlotHoldRegistry slotHoldRegistry;
+    
+    @Autowired
+    private BlackoutCalendar blackoutCalendar;
+    
+    @Autowired
+    private OpeningHoursCalendar openingHoursCalendar;
+    
+    @Autowired
+    private TerrainDirectory terrainDirectory;
+    
+    @Autowired
+    private PricingService pricingService;
+    
+    @Autowired
+    private UserTokenService userTokenService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private final StripedLocks terrainLocks = new StripedLocks(64);
 
     @Override
     public Reservation findById(Long id) {
@@ -23,11 +108,60 @@ public class ReservationServiceImpl implements ReservationService {
                 .orElseThrow(() -> new RuntimeException("Reservation not found with id: " + id));
     }
 
+    @Override
+    public ReservationSummary findSummaryById(Long id) {
+        return reservationRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Reservation not found with id: " + id));
+    }
+
+    @Override
+    public List<ReservationSummary> findSummariesByUserId(Long userId) {
+        return reservationRepository.findSummariesByUserId(userId);
+    }
+
+    @Override
+    public List<ReservationSummary> findSummariesByTerrainId(Long terrainId) {
+        return reservationRepository.findSummariesByTerrainId(terrainId);
+    }
+
     @Override
     public List<Reservation> findAll() {
         return reservationRepository.findAll();
     }
 
+    @Override
+    public KeysetPageResponse<ReservationSummary> findPage(ReservationFilter filter, String cursor, int limit) {
+        LocalDateTime afterStart = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            try {
+                afterStart = LocalDateTime.parse(keys[0]);
+                afterId = Long.valueOf(keys[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        
+        // Fetch one extra row to know whether another page follows
+        List<ReservationSummary> rows = reservationRepository.findPage(filter, afterStart, afterId, limit + 1);
+        if (rows.size() <= limit) {
+            return new KeysetPageResponse<>(rows, null);
+        }
+        
+        List<ReservationSummary> page = rows.subList(0, limit);
+        ReservationSummary last = page.get(limit - 1);
+        return new KeysetPageResponse<>(page, KeysetCursor.encode(last.getStartTime(), last.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamReservations(ReservationFilter filter, Consumer<ReservationSummary> consumer) {
+        try (Stream<ReservationSummary> rows = reservationRepository.streamAll(filter)) {
+            rows.forEach(consumer);
+        }
+    }
+
     @Override
     public List<Reservation> findByUser(User user) {
         return reservationRepository.findByUser(user);
@@ -63,9 +197,232 @@ public class ReservationServiceImpl implements ReservationService {
         return reservationRepository.findByFacilityOwnerId(ownerId);
     }
 
+    @Override
+    public Reservation createReservation(User user, Terrain terrain, Reservation reservation) {
+        return createReservation(user, terrain, reservation, null);
+    }
+
+    @Override
+    public Reservation createReservation(User user, Terrain terrain, Reservation reservation, String holdId) {
+        validateTimeRange(reservation.getStartTime(), reservation.getEndTime());
+        prepare(reservation, user, terrain, userTokenService.isMember(user.getId()));
+        
+        // Check and insert under the terrain's lock so concurrent bookings of one court cannot both
+        // pass the check; the index is updated before the lock is released. The exclusion constraint
+        // covers other nodes and writes that bypass this path.
+        Lock lock = terrainLocks.get(terrain.getId());
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                SlotHold hold = claimHold(holdId, user.getId());
+                if (!isBookable(hold, terrain, reservation)) {
+                    throw new SlotUnavailableException();
+                }
+                return save(reservation);
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new SlotUnavailableException();
+            }
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Reservation createReservationWithTokens(User user, Terrain terrain, Reservation reservation, String holdId) {
+        validateTimeRange(reservation.getStartTime(), reservation.getEndTime());
+        prepare(reservation, user, terrain, userTokenService.isMember(user.getId()));
+        // The cost is set by the quote, never by the client; a part of a token is charged as a whole one
+        int tokens = reservation.getPrice().divide(tokenValue, 0, RoundingMode.CEILING).intValueExact();
+        if (tokens <= 0) {
+            throw new IllegalArgumentException("This slot cannot be paid in tokens");
+        }
+        reservation.setTokensPaid(tokens);
+        
+        // The debit and the insert share one transaction: a taken slot or a failed insert rolls the
+        // debit back, and a short balance leaves no reservation behind
+        Lock lock = terrainLocks.get(terrain.getId());
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                SlotHold hold = claimHold(holdId, user.getId());
+                if (!isBookable(hold, terrain, reservation)) {
+                    throw new SlotUnavailableException();
+                }
+                // Sequence ids are assigned on save, so the debit can be linked to the booking it pays for
+                Reservation saved = reservationRepository.save(reservation);
+                userTokenService.useTokens(user, tokens, saved.getId());
+                TransactionCallbacks.afterCommit(() -> reindex(saved));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new SlotUnavailableException();
+            }
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BulkReservationResponse createReservations(User user, Terrain terrain, BulkReservationRequest request) {
+        List<BulkReservationRequest.Interval> candidates = expand(request);
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No occurrences requested");
+        }
+        if (candidates.size() > MAX_BULK_OCCURRENCES) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_OCCURRENCES + " occurrences can be booked at once");
+        }
+        candidates.sort(Comparator.comparing(BulkReservationRequest.Interval::getStartTime));
+        
+        LocalDateTime from = candidates.get(0).getStartTime();
+        LocalDateTime to = candidates.stream().map(BulkReservationRequest.Interval::getEndTime)
+                .max(Comparator.naturalOrder()).get();
+        
+        boolean member = userTokenService.isMember(user.getId());
+        Lock lock = terrainLocks.get(terrain.getId());
+        lock.lock();
+        try {
+            // Everything already taken across the whole window, fetched once
+            IntervalSet taken = new IntervalSet();
+            List<ReservationSlot> slots = intervalIndex.covers(from)
+                    ? intervalIndex.findOverlapping(terrain.getId(), from, to)
+                    : reservationRepository.findSlotsByTerrainAndRange(terrain.getId(), from, to);
+            slots.forEach(slot -> taken.add(slot.getStartTime(), slot.getEndTime()));
+            slotHoldRegistry.findOverlapping(terrain.getId(), from, to)
+                    .forEach(hold -> taken.add(hold.getStartTime(), hold.getEndTime()));
+            openingHoursCalendar.forEachClosed(terrainDirectory.facilityIdOf(terrain.getId()), from, to, taken::add);
+            blackoutCalendar.findOverlapping(terrain.getId(), from, to)
+                    .forEach(blackout -> taken.add(blackout.getStartTime(), blackout.getEndTime()));
+            
+            IntervalSet accepted = new IntervalSet();
+            List<Reservation> reservations = new ArrayList<>();
+            List<BulkReservationResponse.Conflict> conflicts = new ArrayList<>();
+            for (BulkReservationRequest.Interval candidate : candidates) {
+                LocalDateTime start = candidate.getStartTime();
+                LocalDateTime end = candidate.getEndTime();
+                if (taken.overlaps(start, end)) {
+                    conflicts.add(new BulkReservationResponse.Conflict(start, end, "The selected time slot is not available"));
+                } else if (accepted.overlaps(start, end)) {
+                    conflicts.add(new BulkReservationResponse.Conflict(start, end, "Overlaps another requested occurrence"));
+                } else {
+                    accepted.add(start, end);
+                    Reservation reservation = new Reservation();
+                    reservation.setStartTime(start);
+                    reservation.setEndTime(end);
+                    reservation.setNotes(request.getNotes());
+                    prepare(reservation, user, terrain, member);
+                    reservations.add(reservation);
+                }
+            }
+            
+            if (reservations.isEmpty() || (request.isAllOrNothing() && !conflicts.isEmpty())) {
+                return new BulkReservationResponse(List.of(), conflicts);
+            }
+            
+            // One transaction and batched inserts; the index is updated on commit, before the lock is released
+            List<Reservation> saved = transactionTemplate.execute(status -> {
+                List<Reservation> rows = reservationRepository.saveAll(reservations);
+                TransactionCallbacks.afterCommit(() -> rows.forEach(this::reindex));
+                return rows;
+            });
+            return new BulkReservationResponse(saved.stream().map(ReservationSummary::from).toList(), conflicts);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new SlotUnavailableException();
+            }
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public SlotHold createHold(User user, Terrain terrain, LocalDateTime start, LocalDateTime end) {
+        validateTimeRange(start, end);
+        
+        Lock lock = terrainLocks.get(terrain.getId());
+        lock.lock();
+        try {
+            if (!isTimeSlotAvailable(terrain, start, end)) {
+                throw new SlotUnavailableException();
+            }
+            return slotHoldRegistry.place(user.getId(), terrain.getId(), start, end);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean releaseHold(User user, String holdId) {
+        return slotHoldRegistry.release(holdId, user.getId());
+    }
+
+    @Override
+    public TerrainBlackoutResponse declareBlackout(Terrain terrain, TerrainBlackoutRequest request) {
+        LocalDateTime start = request.getStartTime();
+        LocalDateTime end = request.getEndTime();
+        validateTimeRange(start, end);
+        
+        // Under the terrain lock no booking can land between finding the overlaps and cancelling them.
+        // Bookings from other nodes are kept out by the reservations_no_blackout trigger instead.
+        Lock lock = terrainLocks.get(terrain.getId());
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                TerrainBlackout blackout = blackoutRepository.save(
+                        new TerrainBlackout(null, terrain.getId(), start, end, request.getReason(), now));
+                
+                // One read for the affected ids, then one insert for the refunds and one update for the
+                // cancellations. Bookings already played or completed are left as they are.
+                List<ReservationSlot> slots = reservationRepository.findCancellableSlotsByTerrainAndRange(terrain.getId(), start, end, now);
+                int refunds = 0;
+                int cancelled = 0;
+                if (!slots.isEmpty()) {
+                    List<Long> ids = slots.stream().map(ReservationSlot::getReservationId).toList();
+                    refunds = tokenRefundRepository.queueForReservations(ids, now);
+                    cancelled = reservationRepository.cancelByIds(ids, now);
+                }
+                
+                TransactionCallbacks.afterCommit(() -> {
+                    blackoutCalendar.put(blackout);
+                    slotHoldRegistry.releaseOverlapping(terrain.getId(), start, end);
+                    slots.forEach(slot -> intervalIndex.remove(slot.getReservationId()));
+                    availabilityEventBus.publish(terrain.getId(), start, end);
+                });
+                return new TerrainBlackoutResponse(blackout, cancelled, refunds);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<TerrainBlackout> findBlackouts(Long terrainId) {
+        return blackoutRepository.findByTerrainId(terrainId);
+    }
+
+    @Override
+    public void deleteBlackout(Long terrainId, Long blackoutId) {
+        TerrainBlackout blackout = blackoutRepository.findById(blackoutId)
+                .filter(b -> b.getTerrainId().equals(terrainId))
+                .orElseThrow(() -> new RuntimeException("Blackout not found with id: " + blackoutId));
+        
+        // Reservations cancelled by the blackout stay cancelled; only the window is released
+        blackoutRepository.delete(blackout);
+        blackoutCalendar.remove(blackout);
+        availabilityEventBus.publish(terrainId, blackout.getStartTime(), blackout.getEndTime());
+    }
+
     @Override
     public Reservation save(Reservation reservation) {
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        TransactionCallbacks.afterCommit(() -> reindex(saved));
+        return saved;
     }
 
     @Override
@@ -77,29 +434,174 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setPrice(reservationDetails.getPrice());
         reservation.setNotes(reservationDetails.getNotes());
         
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        TransactionCallbacks.afterCommit(() -> reindex(saved));
+        return saved;
     }
 
     @Override
     public void deleteById(Long id) {
         reservationRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> publishChange(intervalIndex.remove(id)));
     }
 
     @Override
     public Reservation changeStatus(Long id, Reservation.ReservationStatus status) {
-        Reservation reservation = findById(id);
-        reservation.setStatus(status);
-        
         if (status == Reservation.ReservationStatus.CANCELLED) {
-            reservation.setCancelledAt(LocalDateTime.now());
+            return cancel(findById(id));
         }
         
-        return reservationRepository.save(reservation);
+        Reservation reservation = findById(id);
+        reservation.setStatus(status);
+        
+        Reservation saved = reservationRepository.save(reservation);
+        TransactionCallbacks.afterCommit(() -> reindex(saved));
+        return saved;
+    }
+
+    // Cancels and refunds any tokens paid in one transaction. The refund is claimed through the
+    // token_refunds row, so a blackout that already queued one for this reservation wins and the
+    // tokens are never returned twice.
+    private Reservation cancel(Reservation reservation) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (reservationRepository.cancelByIds(List.of(reservation.getId()), now) == 0) {
+                return reservation;
+            }
+            Integer tokens = reservation.getTokensPaid();
+            if (tokens != null && tokens > 0 && reservation.getUser() != null
+                    && tokenRefundRepository.recordImmediateRefund(reservation.getId(), now) == 1) {
+                userTokenService.refundReservation(reservation.getUser(), reservation.getId());
+            }
+            
+            reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
+            reservation.setCancelledAt(now);
+            TransactionCallbacks.afterCommit(() -> reindex(reservation));
+            return reservation;
+        });
     }
 
     @Override
     public boolean isTimeSlotAvailable(Terrain terrain, LocalDateTime start, LocalDateTime end) {
-        List<Reservation> overlappingReservations = findOverlappingReservations(terrain, start, end);
-        return overlappingReservations.isEmpty();
+        if (!blackoutCalendar.isFree(terrain.getId(), start, end)
+                || !openingHoursCalendar.isOpen(terrainDirectory.facilityIdOf(terrain.getId()), start, end)) {
+            return false;
+        }
+        if (!slotHoldRegistry.isFree(terrain.getId(), start, end)) {
+            return false;
+        }
+        if (intervalIndex.covers(start)) {
+            return intervalIndex.isFree(terrain.getId(), start, end);
+        }
+        return !reservationRepository.existsOverlappingReservation(terrain, start, end);
+    }
+
+    private void prepare(Reservation reservation, User user, Terrain terrain, boolean member) {
+        // Set by the token payment path alone; never taken from the request
+        reservation.setTokensPaid(null);
+        reservation.setUser(user);
+        reservation.setTerrain(terrain);
+        reservation.setStatus(Reservation.ReservationStatus.CONFIRMED);
+        reservation.setCreatedAt(LocalDateTime.now());
+        reservation.setPrice(pricingService.quote(terrain.getId(), reservation.getStartTime(), reservation.getEndTime(), member));
+    }
+
+    private static List<BulkReservationRequest.Interval> expand(BulkReservationRequest request) {
+        List<BulkReservationRequest.Interval> intervals = new ArrayList<>();
+        if (request.getIntervals() != null) {
+            for (BulkReservationRequest.Interval interval : request.getIntervals()) {
+                validateBulkRange(interval.getStartTime(), interval.getEndTime());
+                intervals.add(interval);
+            }
+        }
+        
+        BulkReservationRequest.Recurrence rule = request.getRecurrence();
+        if (rule != null) {
+            if (rule.getFirstStartTime() == null || rule.getDurationMinutes() <= 0 || rule.getInterval() <= 0) {
+                throw new IllegalArgumentException("A recurrence needs a first start time, a positive duration and a positive interval");
+            }
+            if (rule.getCount() == null && rule.getUntil() == null) {
+                throw new IllegalArgumentException("A recurrence needs a count or an end date");
+            }
+            Period step = rule.getFrequency() == BulkReservationRequest.Frequency.DAILY
+                    ? Period.ofDays(rule.getInterval())
+                    : Period.ofWeeks(rule.getInterval());
+            int limit = rule.getCount() != null ? rule.getCount() : Integer.MAX_VALUE;
+            LocalDate until = rule.getUntil() != null ? rule.getUntil() : LocalDate.MAX;
+            
+            LocalDateTime start = rule.getFirstStartTime();
+            for (int i = 0; i < limit && !start.toLocalDate().isAfter(until); i++) {
+                // Stop early instead of expanding an unbounded rule
+                if (intervals.size() > MAX_BULK_OCCURRENCES) {
+                    break;
+                }
+                BulkReservationRequest.Interval occurrence = new BulkReservationRequest.Interval();
+                occurrence.setStartTime(start);
+                occurrence.setEndTime(start.plusMinutes(rule.getDurationMinutes()));
+                intervals.add(occurrence);
+                start = rule.getFirstStartTime().plus(step.multipliedBy(i + 1));
+            }
+        }
+        return intervals;
+    }
+
+    private static void validateBulkRange(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("Invalid reservation time range");
+        }
+    }
+
+    private static void validateTimeRange(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new RuntimeException("Invalid reservation time range");
+        }
+    }
+
+    // Claimed inside the booking's transaction: if the booking rolls back, the user keeps the hold
+    private SlotHold claimHold(String holdId, Long userId) {
+        SlotHold hold = holdId != null ? slotHoldRegistry.claim(holdId, userId) : null;
+        if (hold != null) {
+            TransactionCallbacks.afterRollback(() -> slotHoldRegistry.restore(hold));
+        }
+        return hold;
     }
+
+    // A live hold covering the interval already kept every other booking out, so only a blackout
+    // declared since can stand in the way. Otherwise fall back to the full availability check.
+    private boolean isBookable(SlotHold hold, Terrain terrain, Reservation reservation) {
+        if (covers(hold, terrain, reservation)) {
+            return blackoutCalendar.isFree(terrain.getId(), reservation.getStartTime(), reservation.getEndTime());
+        }
+        return isTimeSlotAvailable(terrain, reservation.getStartTime(), reservation.getEndTime());
+    }
+
+    private static boolean covers(SlotHold hold, Terrain terrain, Reservation reservation) {
+        return hold != null
+                && hold.getTerrainId().equals(terrain.getId())
+                && !reservation.getStartTime().isBefore(hold.getStartTime())
+                && !reservation.getEndTime().isAfter(hold.getEndTime());
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState());
+    }
+
+    // Updates the index and notifies availability subscribers of both the old and the new interval
+    private void reindex(Reservation reservation) {
+        ReservationSlot previous = intervalIndex.put(reservation);
+        publishChange(previous);
+        if (reservation.getTerrain() != null && (previous == null
+                || !previous.getStartTime().equals(reservation.getStartTime())
+                || !previous.getEndTime().equals(reservation.getEndTime()))) {
+            availabilityEventBus.publish(reservation.getTerrain().getId(), reservation.getStartTime(), reservation.getEndTime());
+        }
+    }
+
+    private void publishChange(ReservationSlot slot) {
+        if (slot != null) {
+            availabilityEventBus.publish(slot.getTerrainId(), slot.getStartTime(), slot.getEndTime());
+        }
+    }
+
 }
@@ -1,9 +1,12 @@
 package com.superaipadel.backend.service.impl;
 
+import com.superaipadel.backend.dto.projection.TerrainSummary;
 import com.superaipadel.backend.model.Facility;
 import com.superaipadel.backend.model.Terrain;
 import com.superaipadel.backend.repository.TerrainRepository;
+import com.superaipadel.backend.service.PricingService;
 import com.superaipadel.backend.service.TerrainService;
+import com.superaipadel.backend.service.availability.TerrainDirectory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +17,12 @@ public class TerrainServiceImpl implements TerrainService {
 
     @Autowired
     private TerrainRepository terrainRepository;
+    
+    @Autowired
+    private TerrainDirectory terrainDirectory;
+
+    @Autowired
+    private PricingService pricingService;
 
     @Override
     public Terrain findById(Long id) {
@@ -21,6 +30,32 @@ public class TerrainServiceImpl implements TerrainService {
                 .orElseThrow(() -> new RuntimeException("Terrain not found with id: " + id));
     }
 
+    @Override
+    public TerrainSummary findSummaryById(Long id) {
+        return terrainRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Terrain not found with id: " + id));
+    }
+
+    @Override
+    public List<TerrainSummary> findAllSummaries() {
+        return terrainRepository.findAllSummaries();
+    }
+
+    @Override
+    public List<TerrainSummary> findSummariesByActive(boolean active) {
+        return terrainRepository.findSummariesByActive(active);
+    }
+
+    @Override
+    public List<TerrainSummary> findSummariesByFacilityId(Long facilityId) {
+        return terrainRepository.findSummariesByFacilityId(facilityId);
+    }
+
+    @Override
+    public List<TerrainSummary> findSummariesByFacilityIdAndActive(Long facilityId, boolean active) {
+        return terrainRepository.findSummariesByFacilityIdAndActive(facilityId, active);
+    }
+
     @Override
     public List<Terrain> findAll() {
         return terrainRepository.findAll();
@@ -43,7 +78,9 @@ public class TerrainServiceImpl implements TerrainService {
 
     @Override
     public Terrain save(Terrain terrain) {
-        return terrainRepository.save(terrain);
+        Terrain saved = terrainRepository.save(terrain);
+        pricingService.reload();
+        return saved;
     }
 
     @Override
@@ -57,12 +94,14 @@ public class TerrainServiceImpl implements TerrainService {
         terrain.setIndoor(terrainDetails.isIndoor());
         terrain.setType(terrainDetails.getType());
         
-        return terrainRepository.save(terrain);
+        return save(terrain);
     }
 
     @Override
     public void deleteById(Long id) {
         terrainRepository.deleteById(id);
+        terrainDirectory.evict(id);
+        pricingService.reload();
     }
 
     @Override
@@ -1,9 +1,13 @@
 package com.superaipadel.backend.service.impl;
 
+import com.superaipadel.backend.dto.projection.UserSummary;
+import com.superaipadel.backend.dto.response.KeysetPageResponse;
 import com.superaipadel.backend.model.Role;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.repository.UserRepository;
+import com.superaipadel.backend.security.services.UserStatusCache;
 import com.superaipadel.backend.service.UserService;
+import com.superaipadel.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +19,9 @@ public class UserServiceImpl implements UserService {
 
     @Autowired
     private UserRepository userRepository;
+    
+    @Autowired
+    private UserStatusCache userStatusCache;
 
     @Override
     public User findById(Long id) {
@@ -47,6 +54,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteById(Long id) {
         userRepository.deleteById(id);
+        userStatusCache.evict(id);
     }
 
     @Override
@@ -63,9 +71,29 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public List<User> findUsersByRole(Role.ERole role) {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRoles().stream()
-                        .anyMatch(r -> r.getName() == role))
+        return userRepository.findByRoleWithRoles(role);
+    }
+
+    @Override
+    public KeysetPageResponse<UserSummary> findPage(Role.ERole role, String search, String cursor, int limit) {
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.valueOf(KeysetCursor.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        
+        // Fetch one extra row to know whether another page follows
+        List<UserSummary> rows = userRepository.findPage(role, search, afterId, limit + 1).stream()
+                .map(UserSummary::from)
                 .collect(Collectors.toList());
+        if (rows.size() <= limit) {
+            return new KeysetPageResponse<>(rows, null);
+        }
+        
+        List<UserSummary> page = rows.subList(0, limit);
+        return new KeysetPageResponse<>(page, KeysetCursor.encode(page.get(limit - 1).getId()));
     }
 }
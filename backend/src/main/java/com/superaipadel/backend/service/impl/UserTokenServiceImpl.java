@@ -1,21 +1,68 @@
 package com.superaipadel.backend.service.impl;
 
+import com.superaipadel.backend.dto.response.TokenBalanceResponse;
+import com.superaipadel.backend.exception.InsufficientTokensException;
+import com.superaipadel.backend.model.TokenBalance;
+import com.superaipadel.backend.model.TokenLedgerEntry;
 import com.superaipadel.backend.model.TokenPack;
 import com.superaipadel.backend.model.User;
 import com.superaipadel.backend.model.UserToken;
+import com.superaipadel.backend.model.UserTokenHistory;
+import com.superaipadel.backend.repository.TokenBalanceRepository;
+import com.superaipadel.backend.repository.TokenLedgerRepository;
+import com.superaipadel.backend.repository.UserTokenHistoryRepository;
 import com.superaipadel.backend.repository.UserTokenRepository;
 import com.superaipadel.backend.service.UserTokenService;
+import com.superaipadel.backend.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Token packs plus a per-user balance row and an append-only ledger. Every change to a user's
+ * packs is made while holding the lock on their balance row, so concurrent spends serialize
+ * and cannot overdraw.
+ *
+ * Membership is asked for on every price quote, so it is cached per user. An entry lives until the
+ * user's earliest pack expires, for at most {@code token.membershipTtlSeconds}, and is evicted
+ * whenever this service changes the user's packs. The TTL bounds staleness for changes made on
+ * other nodes.
+ */
 @Service
 public class UserTokenServiceImpl implements UserTokenService {
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    @Value("${token.membershipTtlSeconds:60}")
+    private long membershipTtlSeconds;
 
     @Autowired
     private UserTokenRepository userTokenRepository;
+    
+    @Autowired
+    private TokenBalanceRepository tokenBalanceRepository;
+    
+    @Autowired
+    private TokenLedgerRepository tokenLedgerRepository;
+    
+    @Autowired
+    private UserTokenHistoryRepository userTokenHistoryRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private final Map<Long, Membership> memberships = new ConcurrentHashMap<>();
+    // Bumped on every eviction, so a lookup that raced with a wallet change does not cache its result
+    private final AtomicLong membershipEvictions = new AtomicLong();
 
     @Override
     public UserToken findById(Long id) {
@@ -34,66 +81,313 @@ public class UserTokenServiceImpl implements UserTokenService {
     }
 
     @Override
+    @Transactional
     public Integer countRemainingValidTokens(User user) {
-        Integer count = userTokenRepository.countRemainingValidTokens(user, LocalDateTime.now());
-        return count != null ? count : 0;
+        return currentBalance(user.getId()).getBalance();
     }
 
+    // Members are users holding valid tokens; they get the facilities' member rates
     @Override
+    public boolean isMember(Long userId) {
+        long now = System.nanoTime();
+        Membership cached = memberships.get(userId);
+        if (cached != null && now - cached.validUntil < 0) {
+            return cached.member;
+        }
+        
+        if (memberships.size() > SWEEP_THRESHOLD) {
+            memberships.values().removeIf(m -> now - m.validUntil >= 0);
+        }
+        long evictions = membershipEvictions.get();
+        TokenBalance balance = transactionTemplate.execute(status -> currentBalance(userId));
+        boolean member = balance.getBalance() > 0;
+        
+        long ttlNanos = Duration.ofSeconds(membershipTtlSeconds).toNanos();
+        if (balance.getNextExpiryAt() != null) {
+            ttlNanos = Math.min(ttlNanos, Duration.between(LocalDateTime.now(), balance.getNextExpiryAt()).toNanos());
+        }
+        if (ttlNanos > 0 && membershipEvictions.get() == evictions) {
+            memberships.put(userId, new Membership(member, now + ttlNanos));
+        }
+        return member;
+    }
+
+    @Override
+    @Transactional
     public UserToken purchaseTokens(User user, TokenPack tokenPack) {
+        LocalDateTime now = LocalDateTime.now();
+        TokenBalance balance = lockBalance(user.getId());
+        expire(balance, now);
+        evictMembershipAfterCommit(user.getId());
+        
         UserToken userToken = new UserToken();
         userToken.setUser(user);
         userToken.setTokenPack(tokenPack);
         userToken.setTokensRemaining(tokenPack.getTokenCount());
         userToken.setPurchaseAmount(tokenPack.getPrice());
-        userToken.setPurchaseDate(LocalDateTime.now());
+        userToken.setPurchaseDate(now);
         
         // Set expiry date to 1 year from purchase if needed
-        userToken.setExpiryDate(LocalDateTime.now().plusYears(1));
+        userToken.setExpiryDate(now.plusYears(1));
         
-        return userTokenRepository.save(userToken);
+        return credit(balance, userToken, TokenLedgerEntry.EntryType.PURCHASE, now);
     }
 
     @Override
+    @Transactional
     public UserToken useTokens(User user, Integer tokenCount) {
-        List<UserToken> validTokens = findValidTokensByUser(user);
+        return useTokens(user, tokenCount, null);
+    }
+
+    // Spends made for a reservation are linked to it in the ledger, so a refund can put the tokens
+    // back into the packs they came from
+    @Override
+    @Transactional
+    public UserToken useTokens(User user, Integer tokenCount, Long reservationId) {
+        if (tokenCount == null || tokenCount <= 0) {
+            throw new RuntimeException("Token count must be positive");
+        }
         
-        if (validTokens.isEmpty()) {
-            throw new RuntimeException("No valid tokens available for user");
+        LocalDateTime now = LocalDateTime.now();
+        TokenBalance balance = lockBalance(user.getId());
+        expire(balance, now);
+        
+        if (balance.getBalance() < tokenCount) {
+            throw new InsufficientTokensException();
         }
+        evictMembershipAfterCommit(user.getId());
+        balance.setBalance(balance.getBalance() - tokenCount);
+        balance.setUpdatedAt(now);
         
+        // Oldest-expiring packs are debited first
         int remainingToUse = tokenCount;
-        
-        for (UserToken token : validTokens) {
-            if (remainingToUse <= 0) break;
+        UserToken lastUsed = null;
+        for (UserToken token : userTokenRepository.findSpendableByUserId(user.getId(), now)) {
+            int used = Math.min(token.getTokensRemaining(), remainingToUse);
+            token.setTokensRemaining(token.getTokensRemaining() - used);
+            tokenLedgerRepository.save(new TokenLedgerEntry(user.getId(), token.getId(), -used,
+                    TokenLedgerEntry.EntryType.SPEND, reservationId));
             
-            int available = token.getTokensRemaining();
-            if (available >= remainingToUse) {
-                token.setTokensRemaining(available - remainingToUse);
-                remainingToUse = 0;
-                userTokenRepository.save(token);
-                return token; // Return the last token used
-            } else {
-                token.setTokensRemaining(0);
-                remainingToUse -= available;
-                userTokenRepository.save(token);
+            remainingToUse -= used;
+            lastUsed = token;
+            if (remainingToUse == 0) {
+                break;
             }
         }
         
+        // Only possible if the packs were changed outside this service; rolls everything back
         if (remainingToUse > 0) {
-            throw new RuntimeException("Insufficient tokens available");
+            throw new InsufficientTokensException();
+        }
+        
+        return lastUsed; // Return the last token used
+    }
+
+    /**
+     * Returns the tokens paid for a reservation to the packs they were debited from, keeping each
+     * pack's expiry, so cancelling cannot extend the life of tokens. A pack archived since gets its
+     * tokens back as a refund pack with the same expiry; tokens of a pack that has expired since are
+     * forfeited with it. Returns the number of tokens credited.
+     *
+     * Only tokens backed by the reservation's spend entries are returned, whatever its tokensPaid
+     * says, and a reservation already refunded gets nothing more.
+     */
+    @Override
+    @Transactional
+    public int refundReservation(User user, Long reservationId) {
+        LocalDateTime now = LocalDateTime.now();
+        TokenBalance balance = lockBalance(user.getId());
+        expire(balance, now);
+        evictMembershipAfterCommit(user.getId());
+        
+        if (!tokenLedgerRepository.findByReservationIdAndType(reservationId, TokenLedgerEntry.EntryType.REFUND).isEmpty()) {
+            return 0;
         }
         
-        return validTokens.get(validTokens.size() - 1); // Return the last token used
+        int refunded = 0;
+        for (TokenLedgerEntry spend : tokenLedgerRepository.findByReservationIdAndType(
+                reservationId, TokenLedgerEntry.EntryType.SPEND)) {
+            if (!spend.getUserId().equals(user.getId())) {
+                continue;
+            }
+            int tokens = -spend.getDelta();
+            // A pack archived before the lock was granted is gone and is found in the history instead
+            UserToken pack = userTokenRepository.findByIdForUpdate(spend.getUserTokenId()).orElse(null);
+            if (pack != null) {
+                if (isExpired(pack.getExpiryDate(), now)) {
+                    continue;
+                }
+                pack.setTokensRemaining(pack.getTokensRemaining() + tokens);
+                balance.setBalance(balance.getBalance() + tokens);
+                advanceNextExpiry(balance, pack.getExpiryDate());
+                balance.setUpdatedAt(now);
+                tokenLedgerRepository.save(new TokenLedgerEntry(user.getId(), pack.getId(), tokens,
+                        TokenLedgerEntry.EntryType.REFUND, reservationId));
+            } else {
+                UserTokenHistory archived = userTokenHistoryRepository.findById(spend.getUserTokenId()).orElse(null);
+                if (archived == null || isExpired(archived.getExpiryDate(), now)) {
+                    continue;
+                }
+                credit(balance, refundPack(user, tokens, now, archived.getExpiryDate()),
+                        TokenLedgerEntry.EntryType.REFUND, reservationId, now);
+            }
+            refunded += tokens;
+        }
+        return refunded;
+    }
+
+    @Override
+    @Transactional
+    public TokenBalanceResponse reconcile(User user) {
+        int balance = countRemainingValidTokens(user);
+        long ledgerTotal = tokenLedgerRepository.sumDeltasByUserId(user.getId());
+        Integer packTotal = userTokenRepository.countRemainingValidTokens(user, LocalDateTime.now());
+        int packs = packTotal != null ? packTotal : 0;
+        return new TokenBalanceResponse(user.getId(), balance, ledgerTotal, packs, balance == ledgerTotal && balance == packs);
+    }
+
+    @Override
+    @Transactional
+    public int expireDueBalances(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TokenBalance> balances = tokenBalanceRepository.lockExpiryDue(now, limit);
+        balances.forEach(balance -> {
+            expire(balance, now);
+            evictMembershipAfterCommit(balance.getUserId());
+        });
+        return balances.size();
+    }
+
+    @Override
+    @Transactional
+    public int archiveSpentPacks(int limit) {
+        return userTokenRepository.archiveSpent(LocalDateTime.now(), limit);
     }
 
     @Override
     public UserToken save(UserToken userToken) {
-        return userTokenRepository.save(userToken);
+        UserToken saved = userTokenRepository.save(userToken);
+        if (saved.getUser() != null) {
+            evictMembershipAfterCommit(saved.getUser().getId());
+        }
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
-        userTokenRepository.deleteById(id);
+        UserToken userToken = findById(id);
+        Long userId = userToken.getUser().getId();
+        LocalDateTime now = LocalDateTime.now();
+        TokenBalance balance = lockBalance(userId);
+        expire(balance, now);
+        evictMembershipAfterCommit(userId);
+        
+        // Tokens of a pack that is still counted leave the balance with it
+        if (userToken.getTokensRemaining() != null && userToken.getTokensRemaining() > 0
+                && (userToken.getExpiryDate() == null || userToken.getExpiryDate().isAfter(now))) {
+            balance.setBalance(balance.getBalance() - userToken.getTokensRemaining());
+            balance.setUpdatedAt(now);
+            tokenLedgerRepository.save(new TokenLedgerEntry(userId, id,
+                    -userToken.getTokensRemaining(), TokenLedgerEntry.EntryType.ADJUSTMENT));
+        }
+        userTokenRepository.delete(userToken);
+    }
+
+    private TokenBalance currentBalance(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        TokenBalance balance = tokenBalanceRepository.findSnapshotByUserId(userId).orElse(null);
+        
+        // Primary key read; the balance is only locked when it has never been opened or a pack has expired
+        if (balance == null || isExpiryDue(balance, now)) {
+            balance = lockBalance(userId);
+            expire(balance, now);
+        }
+        return balance;
+    }
+
+    // Saves a new pack and adds its tokens to the locked balance and the ledger
+    private UserToken credit(TokenBalance balance, UserToken userToken, TokenLedgerEntry.EntryType type, LocalDateTime now) {
+        return credit(balance, userToken, type, null, now);
+    }
+
+    private UserToken credit(TokenBalance balance, UserToken userToken, TokenLedgerEntry.EntryType type,
+                             Long reservationId, LocalDateTime now) {
+        UserToken saved = userTokenRepository.save(userToken);
+        
+        balance.setBalance(balance.getBalance() + saved.getTokensRemaining());
+        advanceNextExpiry(balance, saved.getExpiryDate());
+        balance.setUpdatedAt(now);
+        tokenLedgerRepository.save(new TokenLedgerEntry(balance.getUserId(), saved.getId(), saved.getTokensRemaining(),
+                type, reservationId));
+        return saved;
+    }
+
+    // Packs without an expiry never leave the balance
+    private static void advanceNextExpiry(TokenBalance balance, LocalDateTime expiry) {
+        if (expiry != null && (balance.getNextExpiryAt() == null || balance.getNextExpiryAt().isAfter(expiry))) {
+            balance.setNextExpiryAt(expiry);
+        }
+    }
+
+    private static boolean isExpired(LocalDateTime expiry, LocalDateTime now) {
+        return expiry != null && !expiry.isAfter(now);
+    }
+
+    private static UserToken refundPack(User user, int tokens, LocalDateTime now, LocalDateTime expiry) {
+        UserToken userToken = new UserToken();
+        userToken.setUser(user);
+        userToken.setTokensRemaining(tokens);
+        userToken.setPurchaseAmount(BigDecimal.ZERO);
+        userToken.setPurchaseDate(now);
+        userToken.setExpiryDate(expiry);
+        return userToken;
+    }
+
+    // Opens the balance from the user's packs on first use, then locks it until the transaction ends
+    private TokenBalance lockBalance(Long userId) {
+        return tokenBalanceRepository.findByUserIdForUpdate(userId).orElseGet(() -> {
+            tokenBalanceRepository.open(userId);
+            return tokenBalanceRepository.findByUserIdForUpdate(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        });
+    }
+
+    private static boolean isExpiryDue(TokenBalance balance, LocalDateTime now) {
+        return balance.getNextExpiryAt() != null && !balance.getNextExpiryAt().isAfter(now);
+    }
+
+    // Removes packs that expired since the last pass from the balance. Packs expiring before
+    // nextExpiryAt were handled by an earlier pass, so each pack is expired exactly once.
+    private void expire(TokenBalance balance, LocalDateTime now) {
+        if (!isExpiryDue(balance, now)) {
+            return;
+        }
+        for (UserToken token : userTokenRepository.findExpiringBetween(balance.getUserId(), balance.getNextExpiryAt(), now)) {
+            balance.setBalance(balance.getBalance() - token.getTokensRemaining());
+            tokenLedgerRepository.save(new TokenLedgerEntry(balance.getUserId(), token.getId(),
+                    -token.getTokensRemaining(), TokenLedgerEntry.EntryType.EXPIRY));
+        }
+        balance.setNextExpiryAt(userTokenRepository.findNextExpiry(balance.getUserId(), now));
+        balance.setUpdatedAt(now);
+    }
+
+    // Evicted once the change is visible, so a concurrent lookup cannot cache the state before it
+    private void evictMembershipAfterCommit(Long userId) {
+        membershipEvictions.incrementAndGet();
+        TransactionCallbacks.afterCompletion(() -> {
+            membershipEvictions.incrementAndGet();
+            memberships.remove(userId);
+        });
+    }
+
+    private static final class Membership {
+        private final boolean member;
+        private final long validUntil;
+
+        Membership(boolean member, long validUntil) {
+            this.member = member;
+            this.validUntil = validUntil;
+        }
     }
 }
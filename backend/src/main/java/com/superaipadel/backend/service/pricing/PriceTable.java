@@ -0,0 +1,123 @@
+package com.superaipadel.backend.service.pricing;
+
+import com.superaipadel.backend.model.PricingRule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The rates of one terrain compiled into run-length segments per audience and weekday, in cents per
+ * hour. Immutable once built; a quote walks the segments its window crosses, at minute granularity.
+ */
+public final class PriceTable {
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final BigDecimal CENT_MINUTES_PER_UNIT_HOUR = BigDecimal.valueOf(100 * 60);
+
+    // Indexed by [member ? 1 : 0][DayOfWeek.getValue() - 1]
+    private final int[][][] segmentStarts;
+    private final long[][][] segmentRates;
+
+    private PriceTable(int[][][] segmentStarts, long[][][] segmentRates) {
+        this.segmentStarts = segmentStarts;
+        this.segmentRates = segmentRates;
+    }
+
+    /**
+     * Builds the table from the terrain's base rate and its rules, lowest precedence first.
+     */
+    public static PriceTable compile(BigDecimal basePricePerHour, List<PricingRule> rules) {
+        long base = toCents(basePricePerHour);
+        int[][][] starts = new int[2][7][];
+        long[][][] rates = new long[2][7][];
+        long[] minutes = new long[MINUTES_PER_DAY];
+
+        for (int audience = 0; audience < 2; audience++) {
+            for (int day = 0; day < 7; day++) {
+                Arrays.fill(minutes, base);
+                for (PricingRule rule : rules) {
+                    boolean applies = rule.getAudience() == PricingRule.Audience.ALL || audience == 1;
+                    if (applies && (rule.getDayMask() & (1 << day)) != 0) {
+                        Arrays.fill(minutes, minuteOf(rule.getStartTime()), endMinuteOf(rule.getEndTime()),
+                                toCents(rule.getPricePerHour()));
+                    }
+                }
+                encode(minutes, starts[audience], rates[audience], day);
+            }
+        }
+        return new PriceTable(starts, rates);
+    }
+
+    public BigDecimal price(LocalDateTime start, LocalDateTime end, boolean member) {
+        int audience = member ? 1 : 0;
+        long centMinutes = 0;
+        LocalDate day = start.toLocalDate();
+        int from = minuteOf(start.toLocalTime());
+        while (day.atStartOfDay().isBefore(end)) {
+            long untilEnd = Duration.between(day.atStartOfDay(), end).toMinutes();
+            int to = (int) Math.min(MINUTES_PER_DAY, untilEnd);
+            int dayIndex = day.getDayOfWeek().getValue() - 1;
+            centMinutes += sum(segmentStarts[audience][dayIndex], segmentRates[audience][dayIndex], from, to);
+            day = day.plusDays(1);
+            from = 0;
+        }
+        return BigDecimal.valueOf(centMinutes).divide(CENT_MINUTES_PER_UNIT_HOUR, 2, RoundingMode.HALF_UP);
+    }
+
+    // Rate times minutes over [from, to) of one day
+    private static long sum(int[] starts, long[] rates, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(starts, from);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        long total = 0;
+        for (int minute = from; minute < to; index++) {
+            int segmentEnd = index + 1 < starts.length ? starts[index + 1] : MINUTES_PER_DAY;
+            int until = Math.min(segmentEnd, to);
+            total += rates[index] * (until - minute);
+            minute = until;
+        }
+        return total;
+    }
+
+    private static void encode(long[] minutes, int[][] starts, long[][] rates, int day) {
+        int count = 1;
+        for (int minute = 1; minute < MINUTES_PER_DAY; minute++) {
+            if (minutes[minute] != minutes[minute - 1]) {
+                count++;
+            }
+        }
+        starts[day] = new int[count];
+        rates[day] = new long[count];
+        starts[day][0] = 0;
+        rates[day][0] = minutes[0];
+        int segment = 0;
+        for (int minute = 1; minute < MINUTES_PER_DAY; minute++) {
+            if (minutes[minute] != minutes[minute - 1]) {
+                segment++;
+                starts[day][segment] = minute;
+                rates[day][segment] = minutes[minute];
+            }
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static int endMinuteOf(LocalTime time) {
+        return time.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : minuteOf(time);
+    }
+}
@@ -0,0 +1,26 @@
+package com.superaipadel.backend.util;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed pool of locks shared by key hash, so work on different keys (terrains, equipment...)
+ * proceeds in parallel while work on the same key is serialized, without a lock object per key.
+ */
+public class StripedLocks {
+    private final Lock[] locks;
+
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock get(Object key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return locks[hash & (locks.length - 1)];
+    }
+}
@@ -0,0 +1,74 @@
+package com.superaipadel.backend;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the application against a real Postgres, so the constraints and locking statements that only
+ * exist there are exercised. One container is shared by every test class and started on first use;
+ * the tests are skipped where Docker is not available.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (!POSTGRES.isRunning()) {
+            POSTGRES.start();
+        }
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    /**
+     * Runs every task at once from its own thread, released together by a start gate, and returns
+     * how many completed without throwing one of the expected exceptions. Any other exception fails the test.
+     */
+    protected static int race(List<Callable<?>> tasks, Class<? extends RuntimeException> expected) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch gate = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> outcomes = new ArrayList<>();
+            for (Callable<?> task : tasks) {
+                outcomes.add(pool.submit(() -> {
+                    gate.await();
+                    try {
+                        task.call();
+                        return true;
+                    } catch (RuntimeException e) {
+                        if (expected.isInstance(e)) {
+                            return false;
+                        }
+                        throw e;
+                    }
+                }));
+            }
+            gate.countDown();
+
+            int successes = 0;
+            for (Future<Boolean> outcome : outcomes) {
+                if (outcome.get()) {
+                    successes++;
+                }
+            }
+            return successes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.superaipadel.backend.service;
+
+import com.superaipadel.backend.PostgresIntegrationTest;
+import com.superaipadel.backend.model.Equipment;
+import com.superaipadel.backend.model.User;
+import com.superaipadel.backend.repository.EquipmentTransactionRepository;
+import com.superaipadel.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquipmentPurchaseContentionTest extends PostgresIntegrationTest {
+    private static final Logger logger = LoggerFactory.getLogger(EquipmentPurchaseContentionTest.class);
+
+    private static final int ATTEMPTS = 200;
+
+    @Autowired
+    private EquipmentTransactionService equipmentTransactionService;
+
+    @Autowired
+    private EquipmentService equipmentService;
+
+    @Autowired
+    private EquipmentTransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("buyer-" + suffix, "buyer-" + suffix + "@example.com", "password"));
+    }
+
+    @Test
+    void oversubscribedItemSellsOutWithoutGoingNegative() throws Exception {
+        assertStockHolds(50);
+    }
+
+    @Test
+    void everyBuyerIsServedWhenStockSuffices() throws Exception {
+        assertStockHolds(ATTEMPTS);
+    }
+
+    private void assertStockHolds(int initialStock) throws Exception {
+        Equipment equipment = new Equipment();
+        equipment.setName("Ball tube " + UUID.randomUUID());
+        equipment.setType(Equipment.EquipmentType.BALL);
+        equipment.setPurchasePrice(new BigDecimal("6.50"));
+        equipment.setStockQuantity(initialStock);
+        Equipment item = equipmentService.save(equipment);
+
+        List<Callable<?>> purchases = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            purchases.add(() -> equipmentTransactionService.purchaseEquipment(user, item, 1));
+        }
+
+        // Sold-out purchases are refused with a plain RuntimeException, so anything else that slipped
+        // through as one shows up in the success count instead
+        long started = System.nanoTime();
+        int successes = race(purchases, RuntimeException.class);
+        logger.info("{} parallel purchases of {} units settled in {} ms with {} successes",
+                ATTEMPTS, initialStock, (System.nanoTime() - started) / 1_000_000, successes);
+
+        int finalStock = equipmentService.findById(item.getId()).getStockQuantity();
+        assertTrue(finalStock >= 0, "stock went negative: " + finalStock);
+        assertEquals(initialStock - successes, finalStock);
+        assertEquals(Math.min(initialStock, ATTEMPTS), successes);
+        assertEquals(successes, transactionRepository.findByEquipment(item).size());
+    }
+}
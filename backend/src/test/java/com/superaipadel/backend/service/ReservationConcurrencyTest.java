@@ -0,0 +1,104 @@
+package com.superaipadel.backend.service;
+
+import com.superaipadel.backend.PostgresIntegrationTest;
+import com.superaipadel.backend.exception.SlotUnavailableException;
+import com.superaipadel.backend.model.Facility;
+import com.superaipadel.backend.model.Reservation;
+import com.superaipadel.backend.model.Terrain;
+import com.superaipadel.backend.model.User;
+import com.superaipadel.backend.repository.ReservationRepository;
+import com.superaipadel.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReservationConcurrencyTest extends PostgresIntegrationTest {
+    private static final int ATTEMPTS = 300;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private FacilityService facilityService;
+
+    @Autowired
+    private TerrainService terrainService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private User user;
+    private Terrain terrain;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("racer-" + suffix, "racer-" + suffix + "@example.com", "password"));
+
+        Facility facility = new Facility();
+        facility.setName("Club " + suffix);
+        facility.setAddress("1 Court Street");
+        facility = facilityService.save(facility);
+
+        Terrain court = new Terrain();
+        court.setName("Court 1");
+        court.setPricePerHour(new BigDecimal("40.00"));
+        court.setType(Terrain.TerrainType.DOUBLE);
+        court.setFacility(facility);
+        terrain = terrainService.save(court);
+
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS).withHour(19);
+    }
+
+    @Test
+    void onlyOneOfManyParallelBookingsOfTheSameSlotSucceeds() throws Exception {
+        List<Callable<?>> bookings = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            bookings.add(() -> reservationService.createReservation(user, terrain, reservation(start, start.plusMinutes(90))));
+        }
+
+        assertEquals(1, race(bookings, SlotUnavailableException.class));
+        assertEquals(1, reservationRepository.findSlotsByTerrainAndRange(terrain.getId(), start, start.plusMinutes(90)).size());
+    }
+
+    @Test
+    void exclusionConstraintRejectsOverlapsThatBypassTheTerrainLock() throws Exception {
+        // Straight to the repository, as a write from another node would be: only the constraint stands in the way
+        List<Callable<?>> inserts = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            LocalDateTime shifted = start.plusMinutes(i % 60);
+            Reservation reservation = reservation(shifted, shifted.plusMinutes(90));
+            reservation.setUser(user);
+            reservation.setTerrain(terrain);
+            reservation.setStatus(Reservation.ReservationStatus.CONFIRMED);
+            reservation.setPrice(new BigDecimal("60.00"));
+            reservation.setCreatedAt(LocalDateTime.now());
+            inserts.add(() -> reservationRepository.saveAndFlush(reservation));
+        }
+
+        assertEquals(1, race(inserts, DataIntegrityViolationException.class));
+        assertEquals(1, reservationRepository.findSlotsByTerrainAndRange(terrain.getId(), start, start.plusHours(3)).size());
+    }
+
+    private static Reservation reservation(LocalDateTime start, LocalDateTime end) {
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        return reservation;
+    }
+}